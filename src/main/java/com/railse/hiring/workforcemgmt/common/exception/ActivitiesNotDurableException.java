@@ -0,0 +1,15 @@
+package com.railse.hiring.workforcemgmt.common.exception;
+
+/**
+ * Thrown after a task write has committed when the activities it published could not be confirmed
+ * as persisted. The write itself stands, so the request must not be retried.
+ */
+public class ActivitiesNotDurableException extends RuntimeException {
+    public ActivitiesNotDurableException(String message) {
+        super(message);
+    }
+
+    public ActivitiesNotDurableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
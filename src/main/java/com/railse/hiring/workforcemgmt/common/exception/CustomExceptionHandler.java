@@ -18,6 +18,29 @@ public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    public final ResponseEntity<Response<Object>> handleBadRequestException(BadRequestException ex) {
+        ResponseStatus status = new ResponseStatus(StatusCode.BAD_REQUEST.getCode(), ex.getMessage());
+        Response<Object> response = new Response<>(null, null, status);
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public final ResponseEntity<Response<Object>> handleServiceOverloadedException(ServiceOverloadedException ex) {
+        ResponseStatus status = new ResponseStatus(StatusCode.SERVICE_UNAVAILABLE.getCode(), ex.getMessage());
+        Response<Object> response = new Response<>(null, null, status);
+        return new ResponseEntity<>(response, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(ActivitiesNotDurableException.class)
+    public final ResponseEntity<Response<Object>> handleActivitiesNotDurableException(ActivitiesNotDurableException ex) {
+        // The task write committed, so answer with a non-error status that tells clients not to retry it
+        ResponseStatus status = new ResponseStatus(StatusCode.ACCEPTED.getCode(),
+                "The change was saved but its activity history is not persisted yet, do not retry: " + ex.getMessage());
+        Response<Object> response = new Response<>(null, null, status);
+        return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
+    }
+
     @ExceptionHandler(Exception.class)
     public final ResponseEntity<Response<Object>> handleAllExceptions(Exception ex) {
         ResponseStatus status = new ResponseStatus(StatusCode.INTERNAL_SERVER_ERROR.getCode(), "An unexpected error occurred: " + ex.getMessage());
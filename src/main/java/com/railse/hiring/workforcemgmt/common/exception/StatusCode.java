@@ -5,9 +5,11 @@ import lombok.Getter;
 @Getter
 public enum StatusCode {
     SUCCESS(200, "Success"),
+    ACCEPTED(202, "Accepted"),
     BAD_REQUEST(400, "Bad Request"),
     NOT_FOUND(404, "Resource Not Found"),
-    INTERNAL_SERVER_ERROR(500, "Internal Server Error");
+    INTERNAL_SERVER_ERROR(500, "Internal Server Error"),
+    SERVICE_UNAVAILABLE(503, "Service Overloaded");
 
     private final int code;
     private final String message;
@@ -0,0 +1,97 @@
+package com.railse.hiring.workforcemgmt.common.limiter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that adapts to measured latency (AIMD). The baseline tracks the lowest latency
+ * seen, i.e. what a request costs without queueing: it drops to any faster sample at once but only
+ * creeps up towards slower ones, so a spell of overload does not become the new normal. While
+ * latency stays within {@code latencyTolerance} of it and the limit is actually being used, the
+ * limit grows by one; once latency climbs above it the limit is cut by {@code backoffRatio}, at
+ * most once per observed latency so a burst of slow completions counts as one congestion signal.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    // Fraction of the gap to a slower sample the baseline rises by, about 10,000 samples to catch up
+    private static final double BASELINE_RISE = 1e-4;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile int limit;
+
+    // Guarded by this
+    private double baselineNanos = Double.POSITIVE_INFINITY;
+    private long lastBackoffNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double latencyTolerance, double backoffRatio) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Invalid concurrency limits: initial=" + initialLimit
+                    + ", min=" + minLimit + ", max=" + maxLimit);
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTolerance = latencyTolerance;
+        this.backoffRatio = backoffRatio;
+    }
+
+    /**
+     * Takes a slot if fewer than {@link #getLimit()} requests are in flight. Every successful call
+     * must be paired with {@link #release(long)}.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long latencyNanos) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        onSample(latencyNanos, inFlightAtCompletion);
+    }
+
+    private synchronized void onSample(long latencyNanos, int inFlightAtCompletion) {
+        if (latencyNanos < baselineNanos) {
+            baselineNanos = latencyNanos;
+        } else {
+            // Lets the baseline rise again if the work itself got slower, without chasing a burst of queueing
+            baselineNanos += (latencyNanos - baselineNanos) * BASELINE_RISE;
+        }
+
+        long now = System.nanoTime();
+        if (latencyNanos > baselineNanos * latencyTolerance) {
+            if (now - lastBackoffNanos >= latencyNanos) {
+                limit = Math.max(minLimit, (int) (limit * backoffRatio));
+                lastBackoffNanos = now;
+            }
+        } else if (inFlightAtCompletion * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,55 @@
+package com.railse.hiring.workforcemgmt.common.limiter;
+
+import com.railse.hiring.workforcemgmt.common.exception.ServiceOverloadedException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Admits requests to {@link ConcurrencyLimited} handlers only while their endpoint class is under
+ * its limit, and feeds each admitted request's latency back to the limiter.
+ */
+@Component
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String LIMITER_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".limiter";
+    private static final String START_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".start";
+
+    private final EndpointConcurrencyLimits limits;
+
+    public ConcurrencyLimitInterceptor(EndpointConcurrencyLimits limits) {
+        this.limits = limits;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        ConcurrencyLimited limited = handlerMethod.getMethodAnnotation(ConcurrencyLimited.class);
+        if (limited == null) {
+            return true;
+        }
+
+        AdaptiveConcurrencyLimiter limiter = limits.get(limited.value());
+        if (!limiter.tryAcquire()) {
+            response.setHeader("Retry-After", "1");
+            throw new ServiceOverloadedException("Too many concurrent " + limited.value()
+                    + " requests (limit " + limiter.getLimit() + "), retry later");
+        }
+        request.setAttribute(LIMITER_ATTRIBUTE, limiter);
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        AdaptiveConcurrencyLimiter limiter = (AdaptiveConcurrencyLimiter) request.getAttribute(LIMITER_ATTRIBUTE);
+        if (limiter != null) {
+            request.setAttribute(LIMITER_ATTRIBUTE, null);
+            limiter.release(System.nanoTime() - (Long) request.getAttribute(START_ATTRIBUTE));
+        }
+    }
+}
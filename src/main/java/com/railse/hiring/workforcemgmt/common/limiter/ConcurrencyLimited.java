@@ -0,0 +1,15 @@
+package com.railse.hiring.workforcemgmt.common.limiter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Places a controller method under the concurrency limit of its {@link EndpointClass}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConcurrencyLimited {
+    EndpointClass value();
+}
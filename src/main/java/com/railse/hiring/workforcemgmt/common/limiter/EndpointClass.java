@@ -0,0 +1,15 @@
+package com.railse.hiring.workforcemgmt.common.limiter;
+
+/**
+ * Endpoint groups that get their own concurrency limit, so bulk reads cannot take the request
+ * threads interactive writes need, and full-store scans cannot crowd out indexed reads.
+ */
+public enum EndpointClass {
+    INTERACTIVE_WRITE,
+    // Indexed or bounded reads: search, facets, throughput
+    BULK_READ,
+    // Reads that scan or return a large part of the store
+    HEAVY_READ,
+    // Admin operations such as bulk loads, one at a time
+    ADMIN
+}
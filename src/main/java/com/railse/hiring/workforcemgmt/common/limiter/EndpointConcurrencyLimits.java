@@ -0,0 +1,45 @@
+package com.railse.hiring.workforcemgmt.common.limiter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Component
+public class EndpointConcurrencyLimits {
+
+    private final Map<EndpointClass, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(EndpointClass.class);
+
+    public EndpointConcurrencyLimits(@Value("${task.limiter.interactive.initial-limit:64}") int interactiveInitial,
+                                     @Value("${task.limiter.interactive.min-limit:8}") int interactiveMin,
+                                     @Value("${task.limiter.interactive.max-limit:256}") int interactiveMax,
+                                     @Value("${task.limiter.bulk.initial-limit:8}") int bulkInitial,
+                                     @Value("${task.limiter.bulk.min-limit:1}") int bulkMin,
+                                     @Value("${task.limiter.bulk.max-limit:32}") int bulkMax,
+                                     @Value("${task.limiter.heavy.initial-limit:2}") int heavyInitial,
+                                     @Value("${task.limiter.heavy.min-limit:1}") int heavyMin,
+                                     @Value("${task.limiter.heavy.max-limit:8}") int heavyMax,
+                                     @Value("${task.limiter.admin.limit:1}") int adminLimit,
+                                     @Value("${task.limiter.latency-tolerance:2.0}") double latencyTolerance,
+                                     @Value("${task.limiter.backoff-ratio:0.9}") double backoffRatio) {
+        limiters.put(EndpointClass.INTERACTIVE_WRITE, new AdaptiveConcurrencyLimiter(
+                interactiveInitial, interactiveMin, interactiveMax, latencyTolerance, backoffRatio));
+        limiters.put(EndpointClass.BULK_READ, new AdaptiveConcurrencyLimiter(
+                bulkInitial, bulkMin, bulkMax, latencyTolerance, backoffRatio));
+        limiters.put(EndpointClass.HEAVY_READ, new AdaptiveConcurrencyLimiter(
+                heavyInitial, heavyMin, heavyMax, latencyTolerance, backoffRatio));
+        // Fixed: min and max pin the limit, so latency never moves it
+        limiters.put(EndpointClass.ADMIN, new AdaptiveConcurrencyLimiter(
+                adminLimit, adminLimit, adminLimit, latencyTolerance, backoffRatio));
+    }
+
+    public AdaptiveConcurrencyLimiter get(EndpointClass endpointClass) {
+        return limiters.get(endpointClass);
+    }
+
+    public Map<EndpointClass, AdaptiveConcurrencyLimiter> all() {
+        return Collections.unmodifiableMap(limiters);
+    }
+}
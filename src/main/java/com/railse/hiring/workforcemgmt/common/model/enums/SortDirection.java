@@ -0,0 +1,6 @@
+package com.railse.hiring.workforcemgmt.common.model.enums;
+
+public enum SortDirection {
+    ASC,
+    DESC
+}
@@ -0,0 +1,36 @@
+package com.railse.hiring.workforcemgmt.config;
+
+import com.railse.hiring.workforcemgmt.repository.CachingTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Puts the read-through cache in front of the task store when {@code task.cache.enabled} is set.
+ * The in-memory store is the only backend today; a slower one would be wired in here instead.
+ */
+@Configuration
+public class TaskRepositoryConfig {
+
+    /**
+     * The in-memory store, with the sample tasks unless tasks are imported at startup: the imported
+     * ids would collide with theirs.
+     */
+    @Bean
+    public InMemoryTaskRepository inMemoryTaskRepository(@Value("${task.bulk-load.files:}") String bulkLoadFiles) {
+        return new InMemoryTaskRepository(bulkLoadFiles.isBlank());
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "task.cache.enabled", havingValue = "true")
+    public CachingTaskRepository cachingTaskRepository(InMemoryTaskRepository backend,
+                                                       @Value("${task.cache.maximum-size:100000}") long maximumSize,
+                                                       @Value("${task.cache.maximum-bytes:0}") long maximumBytes,
+                                                       @Value("${task.cache.negative-ttl-ms:30000}") long negativeTtlMillis) {
+        return new CachingTaskRepository(backend, maximumSize, maximumBytes, negativeTtlMillis);
+    }
+}
@@ -1,8 +1,12 @@
 package com.railse.hiring.workforcemgmt.controller;
 
+import com.railse.hiring.workforcemgmt.common.limiter.ConcurrencyLimited;
+import com.railse.hiring.workforcemgmt.common.limiter.EndpointClass;
 import com.railse.hiring.workforcemgmt.common.model.response.Response;
 import com.railse.hiring.workforcemgmt.dto.*;
 import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.service.TaskAdminService;
+import com.railse.hiring.workforcemgmt.service.TaskDispatchService;
 import com.railse.hiring.workforcemgmt.service.TaskManagementService;
 import org.springframework.web.bind.annotation.*;
 
@@ -12,9 +16,14 @@ import java.util.List;
 @RequestMapping("/task-mgmt")
 public class TaskManagementController {
     private final TaskManagementService taskManagementService;
+    private final TaskDispatchService taskDispatchService;
+    private final TaskAdminService taskAdminService;
 
-    public TaskManagementController(TaskManagementService taskManagementService) {
+    public TaskManagementController(TaskManagementService taskManagementService, TaskDispatchService taskDispatchService,
+                                    TaskAdminService taskAdminService) {
         this.taskManagementService = taskManagementService;
+        this.taskDispatchService = taskDispatchService;
+        this.taskAdminService = taskAdminService;
     }
 
     @GetMapping("/{id}")
@@ -23,39 +32,112 @@ public class TaskManagementController {
     }
 
     @PostMapping("/create")
-    public Response<List<TaskManagementDto>> createTasks(@RequestBody TaskCreateRequest request) {
-        return new Response<>(taskManagementService.createTasks(request));
+    @ConcurrencyLimited(EndpointClass.INTERACTIVE_WRITE)
+    public Response<List<TaskManagementDto>> createTasks(@RequestBody TaskCreateRequest request,
+                                                         @RequestParam(name = "await_activities", defaultValue = "false") boolean awaitActivities) {
+        return new Response<>(taskManagementService.createTasks(request, awaitActivities));
     }
 
     @PostMapping("/update")
-    public Response<List<TaskManagementDto>> updateTasks(@RequestBody UpdateTaskRequest request) {
-        return new Response<>(taskManagementService.updateTasks(request));
+    @ConcurrencyLimited(EndpointClass.INTERACTIVE_WRITE)
+    public Response<List<TaskManagementDto>> updateTasks(@RequestBody UpdateTaskRequest request,
+                                                         @RequestParam(name = "await_activities", defaultValue = "false") boolean awaitActivities) {
+        return new Response<>(taskManagementService.updateTasks(request, awaitActivities));
     }
 
     @PostMapping("/assign-by-ref")
-    public Response<String> assignByReference(@RequestBody AssignByReferenceRequest request) {
-        return new Response<>(taskManagementService.assignByReference(request));
+    @ConcurrencyLimited(EndpointClass.INTERACTIVE_WRITE)
+    public Response<String> assignByReference(@RequestBody AssignByReferenceRequest request,
+                                              @RequestParam(name = "await_activities", defaultValue = "false") boolean awaitActivities) {
+        return new Response<>(taskManagementService.assignByReference(request, awaitActivities));
     }
 
     @PostMapping("/fetch-by-date/v2")
+    @ConcurrencyLimited(EndpointClass.HEAVY_READ)
     public Response<List<TaskManagementDto>> fetchByDate(@RequestBody TaskFetchByDateRequest request) {
         return new Response<>(taskManagementService.fetchTasksByDate(request));
     }
 
     // New Feature 2 endpoints
     @PostMapping("/update-priority")
-    public Response<TaskManagementDto> updateTaskPriority(@RequestBody UpdatePriorityRequest request) {
-        return new Response<>(taskManagementService.updateTaskPriority(request));
+    @ConcurrencyLimited(EndpointClass.INTERACTIVE_WRITE)
+    public Response<TaskManagementDto> updateTaskPriority(@RequestBody UpdatePriorityRequest request,
+                                                          @RequestParam(name = "await_activities", defaultValue = "false") boolean awaitActivities) {
+        return new Response<>(taskManagementService.updateTaskPriority(request, awaitActivities));
     }
 
     @GetMapping("/priority/{priority}")
+    @ConcurrencyLimited(EndpointClass.HEAVY_READ)
     public Response<List<TaskManagementDto>> getTasksByPriority(@PathVariable Priority priority) {
         return new Response<>(taskManagementService.findTasksByPriority(priority));
     }
 
     // New Feature 3 endpoint
     @PostMapping("/add-comment")
-    public Response<TaskManagementDto> addComment(@RequestBody AddCommentRequest request) {
-        return new Response<>(taskManagementService.addComment(request));
+    @ConcurrencyLimited(EndpointClass.INTERACTIVE_WRITE)
+    public Response<TaskManagementDto> addComment(@RequestBody AddCommentRequest request,
+                                                  @RequestParam(name = "await_activities", defaultValue = "false") boolean awaitActivities) {
+        return new Response<>(taskManagementService.addComment(request, awaitActivities));
+    }
+
+    @PostMapping("/query")
+    @ConcurrencyLimited(EndpointClass.HEAVY_READ)
+    public Response<TaskQueryResponse> queryTasks(@RequestBody TaskQueryRequest request) {
+        return new Response<>(taskManagementService.queryTasks(request));
+    }
+
+    @PostMapping("/facets")
+    @ConcurrencyLimited(EndpointClass.BULK_READ)
+    public Response<TaskFacetResponse> countFacets(@RequestBody TaskFacetRequest request) {
+        return new Response<>(taskManagementService.countFacets(request));
+    }
+
+    @PostMapping("/dispatch/{assigneeId}/next")
+    @ConcurrencyLimited(EndpointClass.INTERACTIVE_WRITE)
+    public Response<TaskManagementDto> dispatchNext(@PathVariable Long assigneeId,
+                                                    @RequestParam(name = "await_activities", defaultValue = "false") boolean awaitActivities) {
+        return new Response<>(taskDispatchService.dispatchNext(assigneeId, awaitActivities));
+    }
+
+    @GetMapping("/dispatch/{assigneeId}/peek")
+    public Response<List<TaskManagementDto>> peekQueue(@PathVariable Long assigneeId,
+                                                       @RequestParam(defaultValue = "10") int limit) {
+        return new Response<>(taskDispatchService.peekQueue(assigneeId, limit));
+    }
+
+    @GetMapping("/search")
+    @ConcurrencyLimited(EndpointClass.BULK_READ)
+    public Response<TaskSearchResponse> searchTasks(@RequestParam("q") String query,
+                                                    @RequestParam(defaultValue = "false") boolean prefix,
+                                                    @RequestParam(required = false) Integer limit) {
+        return new Response<>(taskManagementService.searchTasks(query, prefix, limit));
+    }
+
+    @GetMapping("/export")
+    @ConcurrencyLimited(EndpointClass.HEAVY_READ)
+    public Response<TaskExportResponse> exportTasks() {
+        return new Response<>(taskManagementService.exportTasks());
+    }
+
+    @PostMapping("/analytics/throughput")
+    @ConcurrencyLimited(EndpointClass.BULK_READ)
+    public Response<TaskThroughputResponse> getTaskThroughput(@RequestBody TaskThroughputRequest request) {
+        return new Response<>(taskManagementService.taskThroughput(request));
+    }
+
+    @GetMapping("/admin/cache-stats")
+    public Response<TaskCacheStatsResponse> getCacheStats() {
+        return new Response<>(taskAdminService.cacheStats());
+    }
+
+    @GetMapping("/admin/limits")
+    public Response<List<EndpointLimitResponse>> getEndpointLimits() {
+        return new Response<>(taskAdminService.endpointLimits());
+    }
+
+    @PostMapping("/admin/bulk-load")
+    @ConcurrencyLimited(EndpointClass.ADMIN)
+    public Response<TaskBulkLoadResponse> bulkLoad(@RequestBody TaskBulkLoadRequest request) {
+        return new Response<>(taskAdminService.bulkLoad(request));
     }
 }
@@ -0,0 +1,19 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Data;
+
+@Data
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class TaskBulkLoadResponse {
+    private Integer files;
+    private Long tasks;
+    private Long comments;
+    private Long activities;
+    private Long rejectedLines;
+    // Tasks whose id was already stored
+    private Long skippedTasks;
+    private Long elapsedMillis;
+    private Double tasksPerSecond;
+}
@@ -0,0 +1,20 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Data;
+
+@Data
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class TaskCacheStatsResponse {
+    private boolean enabled;
+    private Long size;
+    private Long maximumSize;
+    private Long maximumBytes;
+    private Long hitCount;
+    private Long missCount;
+    private Long notFoundCount;
+    private Double hitRatio;
+    private Long evictionCount;
+    private Long evictionWeight;
+}
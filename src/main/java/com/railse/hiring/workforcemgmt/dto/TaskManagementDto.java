@@ -24,6 +24,8 @@ public class TaskManagementDto {
     private Priority priority;
     private Long createdAt;
     private Long startedAt;
+    private Long completedAt;
+    private Long cancelledAt;
     private List<TaskActivityDto> activities;
     private List<TaskCommentDto> comments;
 }
@@ -0,0 +1,24 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class TaskQueryPlanDto {
+    private String accessPath;
+    private String drivingIndex;
+    private Long estimatedCandidates;
+    private List<String> consideredIndexes;
+    private List<String> intersectedIndexes;
+    private List<String> residualPredicates;
+    private String sort;
+    private Integer limit;
+    private Long examined;
+    private Long matched;
+    private Long returned;
+    private Long elapsedMicros;
+}
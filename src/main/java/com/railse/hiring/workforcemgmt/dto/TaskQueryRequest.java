@@ -0,0 +1,34 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.common.model.enums.SortDirection;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskSortField;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class TaskQueryRequest {
+    private List<TaskStatus> statuses;
+    private List<Priority> priorities;
+    private List<Task> taskTypes;
+    private List<Long> assigneeIds;
+    private Long referenceId;
+    private ReferenceType referenceType;
+    private Long createdAtFrom;
+    private Long createdAtTo;
+    private Long startedAtFrom;
+    private Long startedAtTo;
+    private Long deadlineFrom;
+    private Long deadlineTo;
+    private TaskSortField sortBy;
+    private SortDirection sortDirection;
+    private Integer limit;
+    private Boolean explain;
+}
@@ -0,0 +1,23 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.railse.hiring.workforcemgmt.model.enums.BucketGranularity;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskEvent;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class TaskThroughputRequest {
+    private BucketGranularity granularity;
+    private Long from;
+    private Long to;
+    private List<TaskEvent> events;
+    private List<Task> taskTypes;
+    private List<Long> assigneeIds;
+    private boolean groupByTask;
+    private boolean groupByAssignee;
+}
@@ -1,8 +1,17 @@
 package com.railse.hiring.workforcemgmt.mapper;
 
+import com.railse.hiring.workforcemgmt.dto.TaskActivityDto;
+import com.railse.hiring.workforcemgmt.dto.TaskFacetResponse;
 import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.dto.TaskQueryPlanDto;
+import com.railse.hiring.workforcemgmt.dto.TaskThroughputBucketDto;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
 import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.repository.index.TaskFacetCounts;
+import com.railse.hiring.workforcemgmt.repository.query.QueryPlan;
+import com.railse.hiring.workforcemgmt.service.analytics.ThroughputBucket;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 import org.mapstruct.factory.Mappers;
 
@@ -12,8 +21,18 @@ import java.util.List;
 public interface ITaskManagementMapper {
 //    ITaskManagementMapper INSTANCE = Mappers.getMapper(ITaskManagementMapper.class);
 
+    // Activities live in the activity store; TaskDtoAssembler fills them in
+    @Mapping(target = "activities", ignore = true)
     TaskManagementDto modelToDto(TaskManagement model);
+
+    @Mapping(target = "version", ignore = true)
     TaskManagement dtoToModel(TaskManagementDto dto);
 
-    List<TaskManagementDto> modelListToDtoList(List<TaskManagement> models);
+    List<TaskActivityDto> activityListToDtoList(List<TaskActivity> activities);
+
+    TaskQueryPlanDto planToDto(QueryPlan plan);
+
+    TaskFacetResponse facetCountsToDto(TaskFacetCounts counts);
+
+    List<TaskThroughputBucketDto> bucketListToDtoList(List<ThroughputBucket> buckets);
 }
@@ -0,0 +1,34 @@
+package com.railse.hiring.workforcemgmt.mapper;
+
+import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.repository.TaskActivityRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Builds task DTOs from the task record plus its history, which lives in the activity store.
+ */
+@Component
+public class TaskDtoAssembler {
+
+    private final ITaskManagementMapper taskMapper;
+    private final TaskActivityRepository activityRepository;
+
+    public TaskDtoAssembler(ITaskManagementMapper taskMapper, TaskActivityRepository activityRepository) {
+        this.taskMapper = taskMapper;
+        this.activityRepository = activityRepository;
+    }
+
+    public TaskManagementDto toDto(TaskManagement task) {
+        TaskManagementDto dto = taskMapper.modelToDto(task);
+        dto.setActivities(taskMapper.activityListToDtoList(activityRepository.findByTaskId(task.getId())));
+        return dto;
+    }
+
+    public List<TaskManagementDto> toDtoList(List<TaskManagement> tasks) {
+        return tasks.stream().map(this::toDto).collect(Collectors.toList());
+    }
+}
@@ -22,6 +22,58 @@ public class TaskManagement {
     private Priority priority;
     private Long createdAt;
     private Long startedAt;
-    private List<TaskActivity> activities = new ArrayList<>();
+    private Long completedAt;
+    private Long cancelledAt;
     private List<TaskComment> comments = new ArrayList<>();
+    // Commit sequence of the stored version this task was read from or saved as; set by the repository
+    private Long version;
+
+    /**
+     * Copies the task so the copy can be changed without affecting this instance.
+     * Comments are shared: they are never modified once added.
+     */
+    public TaskManagement copy() {
+        TaskManagement copy = new TaskManagement();
+        copy.setId(id);
+        copy.setReferenceId(referenceId);
+        copy.setReferenceType(referenceType);
+        copy.setTask(task);
+        copy.setDescription(description);
+        copy.setStatus(status);
+        copy.setAssigneeId(assigneeId);
+        copy.setTaskDeadlineTime(taskDeadlineTime);
+        copy.setPriority(priority);
+        copy.setCreatedAt(createdAt);
+        copy.setStartedAt(startedAt);
+        copy.setCompletedAt(completedAt);
+        copy.setCancelledAt(cancelledAt);
+        copy.setComments(new ArrayList<>(comments));
+        copy.setVersion(version);
+        return copy;
+    }
+
+    /**
+     * Moves the task to {@code status} and records when: {@code startedAt} on its first start,
+     * {@code completedAt} or {@code cancelledAt} each time it completes or is cancelled. Leaving
+     * COMPLETED or CANCELLED clears that timestamp, so a reopened task does not count as closed.
+     *
+     * @return whether the status changed
+     */
+    public boolean changeStatus(TaskStatus status, long timestamp) {
+        boolean changed = this.status != status;
+        if (changed && this.status == TaskStatus.COMPLETED) {
+            completedAt = null;
+        } else if (changed && this.status == TaskStatus.CANCELLED) {
+            cancelledAt = null;
+        }
+        this.status = status;
+        if (status == TaskStatus.STARTED && startedAt == null) {
+            startedAt = timestamp;
+        } else if (changed && status == TaskStatus.COMPLETED) {
+            completedAt = timestamp;
+        } else if (changed && status == TaskStatus.CANCELLED) {
+            cancelledAt = timestamp;
+        }
+        return changed;
+    }
 }
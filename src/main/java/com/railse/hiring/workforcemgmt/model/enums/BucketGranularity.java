@@ -0,0 +1,23 @@
+package com.railse.hiring.workforcemgmt.model.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum BucketGranularity {
+    MINUTE(60_000L),
+    HOUR(3_600_000L),
+    DAY(86_400_000L);
+
+    private final long millis;
+
+    BucketGranularity(long millis) {
+        this.millis = millis;
+    }
+
+    /**
+     * Start of the bucket containing {@code timestamp}; buckets are aligned to UTC.
+     */
+    public long bucketStart(long timestamp) {
+        return Math.floorDiv(timestamp, millis) * millis;
+    }
+}
@@ -0,0 +1,26 @@
+package com.railse.hiring.workforcemgmt.model.enums;
+
+/**
+ * Lifecycle events counted by the throughput analytics.
+ */
+public enum TaskEvent {
+    CREATED,
+    STARTED,
+    COMPLETED,
+    CANCELLED;
+
+    /**
+     * The event of entering {@code status}, or null for statuses that are not counted.
+     */
+    public static TaskEvent of(TaskStatus status) {
+        if (status == null) {
+            return null;
+        }
+        return switch (status) {
+            case STARTED -> STARTED;
+            case COMPLETED -> COMPLETED;
+            case CANCELLED -> CANCELLED;
+            default -> null;
+        };
+    }
+}
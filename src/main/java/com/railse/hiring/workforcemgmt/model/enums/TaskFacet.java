@@ -0,0 +1,23 @@
+package com.railse.hiring.workforcemgmt.model.enums;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import lombok.Getter;
+
+/**
+ * Low-cardinality task attributes that are kept as bitmap indexes and can be counted as facets.
+ */
+@Getter
+public enum TaskFacet {
+    STATUS("status", TaskStatus.values()),
+    PRIORITY("priority", Priority.values()),
+    TASK("task", Task.values()),
+    REFERENCE_TYPE("reference_type", ReferenceType.values());
+
+    private final String field;
+    private final Enum<?>[] values;
+
+    TaskFacet(String field, Enum<?>[] values) {
+        this.field = field;
+        this.values = values;
+    }
+}
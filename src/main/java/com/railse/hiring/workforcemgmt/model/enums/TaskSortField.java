@@ -0,0 +1,9 @@
+package com.railse.hiring.workforcemgmt.model.enums;
+
+public enum TaskSortField {
+    ID,
+    CREATED_AT,
+    STARTED_AT,
+    TASK_DEADLINE_TIME,
+    PRIORITY
+}
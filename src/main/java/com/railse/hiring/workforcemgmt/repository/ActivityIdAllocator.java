@@ -0,0 +1,33 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out activity ids from per-thread blocks, so the shared counter is touched once per block
+ * instead of once per activity. Ids are unique but only increase within a thread, not globally.
+ */
+@Component
+public class ActivityIdAllocator {
+
+    private final AtomicLong nextBlockStart = new AtomicLong(1);
+    private final int blockSize;
+    private final ThreadLocal<long[]> block;
+
+    public ActivityIdAllocator(@Value("${task.activity.id-block-size:1024}") int blockSize) {
+        this.blockSize = blockSize;
+        // {next id, end of block (exclusive)}
+        this.block = ThreadLocal.withInitial(() -> new long[]{0, 0});
+    }
+
+    public long nextId() {
+        long[] current = block.get();
+        if (current[0] == current[1]) {
+            current[0] = nextBlockStart.getAndAdd(blockSize);
+            current[1] = current[0] + blockSize;
+        }
+        return current[0]++;
+    }
+}
@@ -0,0 +1,242 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.repository.index.TaskFacetCounts;
+import com.railse.hiring.workforcemgmt.repository.query.TaskFacetQuery;
+import com.railse.hiring.workforcemgmt.repository.query.TaskIdQueryResult;
+import com.railse.hiring.workforcemgmt.repository.query.TaskQuery;
+import com.railse.hiring.workforcemgmt.repository.query.TaskQueryPlanner;
+import com.railse.hiring.workforcemgmt.repository.query.TaskQueryResult;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * Read-through cache in front of a slower {@link TaskRepository} backend. Admission and eviction
+ * are W-TinyLFU (Caffeine), bounded either by entry count or by an estimate of retained bytes.
+ * <p>
+ * Writes go to the backend first; the committed task then replaces the cached entry unless the
+ * cache already holds a later version, so concurrent writes cannot leave an older copy cached.
+ * Ids the backend does not know are cached as empty for a short time so repeated misses stay off
+ * the backend. Queries and finders ask the backend only for matching ids and resolve them through
+ * the cache, so hot tasks are not fetched again; a task changed in between may no longer match, so
+ * the query is checked again against the version resolved. Scans, facet counts and snapshots go to
+ * the backend.
+ */
+public class CachingTaskRepository implements TaskRepository {
+
+    private static final int TASK_BASE_BYTES = 256;
+    private static final int COMMENT_BASE_BYTES = 96;
+
+    private final TaskRepository backend;
+    // Cached values are private copies and never handed out; empty means the backend has no such id
+    private final Cache<Long, Optional<TaskManagement>> cache;
+    private final LongAdder notFound = new LongAdder();
+    private final long maximumSize;
+    private final long maximumBytes;
+
+    /**
+     * @param maximumSize  maximum number of cached tasks, used when {@code maximumBytes} is not positive
+     * @param maximumBytes maximum estimated bytes of cached tasks, or 0 to bound by entry count
+     * @param negativeTtlMillis how long a missing id is remembered
+     */
+    public CachingTaskRepository(TaskRepository backend, long maximumSize, long maximumBytes, long negativeTtlMillis) {
+        this.backend = backend;
+        this.maximumSize = maximumSize;
+        this.maximumBytes = maximumBytes;
+
+        long negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(negativeTtlMillis);
+        Caffeine<Long, Optional<TaskManagement>> builder = Caffeine.newBuilder()
+                .expireAfter(new Expiry<Long, Optional<TaskManagement>>() {
+                    @Override
+                    public long expireAfterCreate(Long id, Optional<TaskManagement> task, long currentTime) {
+                        return task.isPresent() ? Long.MAX_VALUE : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long id, Optional<TaskManagement> task, long currentTime, long currentDuration) {
+                        return expireAfterCreate(id, task, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long id, Optional<TaskManagement> task, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats();
+        if (maximumBytes > 0) {
+            builder = builder.maximumWeight(maximumBytes)
+                    .weigher((Long id, Optional<TaskManagement> task) -> estimateBytes(task));
+        } else {
+            builder = builder.maximumSize(maximumSize);
+        }
+        this.cache = builder.build();
+    }
+
+    @Override
+    public Optional<TaskManagement> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        Optional<TaskManagement> cached = cache.get(id, backend::findById);
+        if (cached.isEmpty()) {
+            notFound.increment();
+        }
+        return cached.map(TaskManagement::copy);
+    }
+
+    @Override
+    public TaskManagement save(TaskManagement task) {
+        TaskManagement saved = backend.save(task);
+        install(saved);
+        return saved;
+    }
+
+    @Override
+    public Optional<TaskUpdate> update(Long id, UnaryOperator<TaskManagement> change) {
+        Optional<TaskUpdate> update = backend.update(id, change);
+        if (update.isPresent() && update.get().applied()) {
+            install(update.get().after());
+        }
+        return update;
+    }
+
+    @Override
+    public List<TaskManagement> bulkLoad(List<TaskManagement> tasks) {
+        List<TaskManagement> stored = backend.bulkLoad(tasks);
+        for (TaskManagement task : stored) {
+            cache.invalidate(task.getId());
+        }
+        return stored;
+    }
+
+    @Override
+    public List<TaskManagement> findAll() {
+        return backend.findAll();
+    }
+
+    @Override
+    public TaskSnapshot openSnapshot() {
+        return backend.openSnapshot();
+    }
+
+    @Override
+    public List<TaskManagement> findByReferenceIdAndReferenceType(Long referenceId, ReferenceType referenceType) {
+        if (referenceId == null || referenceType == null) {
+            return backend.findByReferenceIdAndReferenceType(referenceId, referenceType);
+        }
+        TaskQuery query = new TaskQuery();
+        query.setReferenceId(referenceId);
+        query.setReferenceType(referenceType);
+        return resolve(query, backend.queryIds(query).getTaskIds());
+    }
+
+    @Override
+    public List<TaskManagement> findByAssigneeIdIn(List<Long> assigneeIds) {
+        if (assigneeIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        TaskQuery query = new TaskQuery();
+        query.setAssigneeIds(new HashSet<>(assigneeIds));
+        return resolve(query, backend.queryIds(query).getTaskIds());
+    }
+
+    @Override
+    public List<TaskManagement> findByPriority(Priority priority) {
+        if (priority == null) {
+            return backend.findByPriority(null);
+        }
+        TaskQuery query = new TaskQuery();
+        query.setPriorities(Set.of(priority));
+        return resolve(query, backend.queryIds(query).getTaskIds());
+    }
+
+    @Override
+    public TaskQueryResult query(TaskQuery query) {
+        TaskIdQueryResult matches = backend.queryIds(query);
+        List<TaskManagement> tasks = resolve(query, matches.getTaskIds());
+        matches.getPlan().setReturned(tasks.size());
+        return new TaskQueryResult(tasks, matches.getPlan());
+    }
+
+    @Override
+    public TaskIdQueryResult queryIds(TaskQuery query) {
+        return backend.queryIds(query);
+    }
+
+    @Override
+    public TaskFacetCounts countFacets(TaskFacetQuery query) {
+        return backend.countFacets(query);
+    }
+
+    public CacheMetrics metrics() {
+        CacheStats stats = cache.stats();
+        return new CacheMetrics(cache.estimatedSize(), maximumBytes > 0 ? 0 : maximumSize, Math.max(maximumBytes, 0),
+                stats.hitCount(), stats.missCount(), notFound.sum(), stats.hitRate(),
+                stats.evictionCount(), stats.evictionWeight());
+    }
+
+    /**
+     * Caches a committed task, unless a concurrent write already cached a later version of it.
+     */
+    private void install(TaskManagement saved) {
+        cache.asMap().merge(saved.getId(), Optional.of(saved.copy()),
+                (cached, committed) -> cached.isPresent() && cached.get().getVersion() > committed.get().getVersion()
+                        ? cached : committed);
+    }
+
+    /**
+     * Current versions of the tasks the backend matched, leaving out those that no longer match.
+     */
+    private List<TaskManagement> resolve(TaskQuery query, List<Long> ids) {
+        List<TaskManagement> tasks = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            findById(id)
+                    .filter(task -> TaskQueryPlanner.matches(query, task))
+                    .ifPresent(tasks::add);
+        }
+        return tasks;
+    }
+
+    /**
+     * Runs pending cache maintenance, such as evictions, now rather than on a background thread.
+     */
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    private static int estimateBytes(Optional<TaskManagement> cached) {
+        if (cached.isEmpty()) {
+            return 16;
+        }
+        TaskManagement task = cached.get();
+        long bytes = TASK_BASE_BYTES + length(task.getDescription()) * 2L;
+        if (task.getComments() != null) {
+            for (TaskComment comment : task.getComments()) {
+                bytes += COMMENT_BASE_BYTES + length(comment.getComment()) * 2L;
+            }
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    public record CacheMetrics(long size, long maximumSize, long maximumBytes, long hitCount, long missCount,
+                               long notFoundCount, double hitRatio, long evictionCount, long evictionWeight) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Activity history per task. Each task's list is appended to in place under its own lock, and
+ * readers get a copy taken under the same lock, so appends stay cheap however long the history
+ * grows and readers never observe a partially written batch.
+ */
+@Repository
+public class InMemoryTaskActivityRepository implements TaskActivityRepository {
+
+    private final Map<Long, List<TaskActivity>> activityStore = new ConcurrentHashMap<>();
+
+    public InMemoryTaskActivityRepository(TaskRepository taskRepository, ActivityIdAllocator activityIdAllocator) {
+        // Creation history for the tasks seeded by InMemoryTaskRepository
+        List<TaskActivity> seedActivities = new ArrayList<>();
+        for (TaskManagement task : taskRepository.findAll()) {
+            TaskActivity creationActivity = new TaskActivity(task.getId(), "Task created", 1L, "System");
+            creationActivity.setId(activityIdAllocator.nextId());
+            creationActivity.setTimestamp(task.getCreatedAt());
+            seedActivities.add(creationActivity);
+        }
+        saveAll(seedActivities);
+    }
+
+    @Override
+    public void saveAll(List<TaskActivity> activities) {
+        Map<Long, List<TaskActivity>> byTask = new LinkedHashMap<>();
+        for (TaskActivity activity : activities) {
+            byTask.computeIfAbsent(activity.getTaskId(), id -> new ArrayList<>()).add(activity);
+        }
+        byTask.forEach((taskId, appended) -> {
+            List<TaskActivity> history = activityStore.computeIfAbsent(taskId, id -> new ArrayList<>());
+            synchronized (history) {
+                history.addAll(appended);
+            }
+        });
+    }
+
+    @Override
+    public List<TaskActivity> findByTaskId(Long taskId) {
+        List<TaskActivity> history = activityStore.get(taskId);
+        if (history == null) {
+            return List.of();
+        }
+        synchronized (history) {
+            return List.copyOf(history);
+        }
+    }
+}
@@ -1,28 +1,74 @@
 package com.railse.hiring.workforcemgmt.repository;
 
 import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
-import com.railse.hiring.workforcemgmt.model.TaskActivity;
 import com.railse.hiring.workforcemgmt.model.TaskManagement;
 import com.railse.hiring.workforcemgmt.model.enums.Priority;
 import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskFacet;
 import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
-import org.springframework.stereotype.Repository;
+import com.railse.hiring.workforcemgmt.repository.index.ReferenceKey;
+import com.railse.hiring.workforcemgmt.repository.index.TaskBitmapIndex;
+import com.railse.hiring.workforcemgmt.repository.index.TaskFacetCounts;
+import com.railse.hiring.workforcemgmt.repository.index.TaskIndexes;
+import com.railse.hiring.workforcemgmt.repository.query.TaskFacetQuery;
+import com.railse.hiring.workforcemgmt.repository.query.TaskIdQueryResult;
+import com.railse.hiring.workforcemgmt.repository.query.TaskQuery;
+import com.railse.hiring.workforcemgmt.repository.query.TaskQueryPlanner;
+import com.railse.hiring.workforcemgmt.repository.query.TaskQueryResult;
+import org.roaringbitmap.RoaringBitmap;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
-@Repository
+/**
+ * Multi-version task store. Every save publishes an immutable copy of the task as the new head
+ * {@link TaskVersion} of its id, stamped with a store-wide commit sequence. Readers never lock:
+ * they resolve heads (or, inside a {@link TaskSnapshot}, the newest version at the snapshot's
+ * sequence) and get their own copy, so they cannot observe a half-applied update.
+ * <p>
+ * Commits are serialized by a short lock that covers only installing a version. {@link #update}
+ * applies its change to a copy without the lock and commits it only if the task has not been
+ * written since; otherwise it applies the change again to the newer version. Older versions stay
+ * linked only while an open snapshot may still read them, and are unlinked without the lock.
+ */
 public class InMemoryTaskRepository implements TaskRepository {
 
-    private final Map<Long, TaskManagement> taskStore = new ConcurrentHashMap<>();
+    private final Map<Long, TaskVersion> taskStore = new ConcurrentHashMap<>();
     private final AtomicLong idCounter = new AtomicLong(0);
-    private final AtomicLong activityIdCounter = new AtomicLong(0);
+    private final TaskIndexes indexes = new TaskIndexes();
+    private final TaskQueryPlanner queryPlanner = new TaskQueryPlanner(indexes, this::head,
+            () -> taskStore.values().stream().map(TaskVersion::task).collect(Collectors.toList()));
+
+    private final Lock commitLock = new ReentrantLock();
+    private volatile long committedSequence;
+    // Open snapshot sequence -> number of snapshots open at it
+    private final ConcurrentSkipListMap<Long, Integer> openSnapshots = new ConcurrentSkipListMap<>();
+    // Ids whose head still links to older versions
+    private final Set<Long> versionedIds = ConcurrentHashMap.newKeySet();
 
     public InMemoryTaskRepository() {
+        this(true);
+    }
+
+    /**
+     * @param seed whether to start with the sample tasks
+     */
+    public InMemoryTaskRepository(boolean seed) {
+        if (!seed) {
+            return;
+        }
         // Seed data with current timestamp for testing
         long currentTime = System.currentTimeMillis();
         long oneDayAgo = currentTime - 86400000; // 1 day ago
@@ -52,66 +98,348 @@ public class InMemoryTaskRepository implements TaskRepository {
         newTask.setCreatedAt(createdAt);
         if (status == TaskStatus.STARTED) {
             newTask.setStartedAt(createdAt + 3600000); // Started 1 hour after creation
+        } else if (status == TaskStatus.COMPLETED) {
+            newTask.setCompletedAt(createdAt + 7200000); // Completed 2 hours after creation
+        } else if (status == TaskStatus.CANCELLED) {
+            newTask.setCancelledAt(createdAt + 7200000); // Cancelled 2 hours after creation
         }
 
-        // Add creation activity
-        TaskActivity creationActivity = new TaskActivity(newId, "Task created", 1L, "System");
-        newTask.getActivities().add(creationActivity);
-
-        taskStore.put(newId, newTask);
+        commit(newTask);
     }
 
     @Override
     public Optional<TaskManagement> findById(Long id) {
-        return Optional.ofNullable(taskStore.get(id));
+        return Optional.ofNullable(head(id)).map(TaskManagement::copy);
     }
 
     @Override
     public TaskManagement save(TaskManagement task) {
-        if (task.getId() == null) {
-            task.setId(idCounter.incrementAndGet());
-            task.setCreatedAt(System.currentTimeMillis());
+        checkId(task.getId());
+        commitLock.lock();
+        try {
+            // Ids are taken under the lock, so a concurrent bulk load cannot store a task under the same id first
+            if (task.getId() == null) {
+                task.setId(idCounter.incrementAndGet());
+                task.setCreatedAt(System.currentTimeMillis());
+            } else {
+                idCounter.accumulateAndGet(task.getId(), Math::max);
+            }
+            commit(task);
+        } finally {
+            commitLock.unlock();
+        }
+        return task;
+    }
+
+    @Override
+    public Optional<TaskUpdate> update(Long id, UnaryOperator<TaskManagement> change) {
+        while (true) {
+            TaskVersion head = taskStore.get(id);
+            if (head == null) {
+                return Optional.empty();
+            }
+            TaskManagement current = head.task();
+            TaskManagement updated = change.apply(current.copy());
+            if (updated == null) {
+                return Optional.of(new TaskUpdate(current.copy(), null));
+            }
+            commitLock.lock();
+            try {
+                // Another write to the task committed since current was read, so apply the change to that one
+                if (taskStore.get(id) != head) {
+                    continue;
+                }
+                commit(updated);
+            } finally {
+                commitLock.unlock();
+            }
+            return Optional.of(new TaskUpdate(current.copy(), updated));
+        }
+    }
 
-            // Add creation activity
-            TaskActivity creationActivity = new TaskActivity(task.getId(), "Task created", 1L, "System");
-            creationActivity.setId(activityIdCounter.incrementAndGet());
-            task.getActivities().add(creationActivity);
+    @Override
+    public List<TaskManagement> bulkLoad(List<TaskManagement> tasks) {
+        for (TaskManagement task : tasks) {
+            checkId(task.getId());
         }
 
-        // Assign IDs to activities and comments that don't have them
-        task.getActivities().forEach(activity -> {
-            if (activity.getId() == null) {
-                activity.setId(activityIdCounter.incrementAndGet());
+        long now = System.currentTimeMillis();
+        List<TaskManagement> candidates = new ArrayList<>(tasks.size());
+        List<TaskManagement> published = new ArrayList<>(tasks.size());
+        Set<Long> batchIds = new HashSet<>();
+        long highestId = 0;
+        for (TaskManagement task : tasks) {
+            if (task.getId() != null) {
+                if (!batchIds.add(task.getId())) {
+                    continue;
+                }
+                highestId = Math.max(highestId, task.getId());
             }
-        });
+            if (task.getCreatedAt() == null) {
+                task.setCreatedAt(now);
+            }
+            candidates.add(task);
+            published.add(publishable(task));
+        }
 
-        taskStore.put(task.getId(), task);
-        return task;
+        commitLock.lock();
+        try {
+            // New ids continue above every id in the batch, and like existing ids are checked under the lock
+            idCounter.accumulateAndGet(highestId, Math::max);
+            long sequence = committedSequence + 1;
+            List<TaskManagement> stored = new ArrayList<>(candidates.size());
+            List<TaskVersion> heads = new ArrayList<>(candidates.size());
+            for (int i = 0; i < candidates.size(); i++) {
+                TaskManagement task = candidates.get(i);
+                if (task.getId() == null) {
+                    task.setId(idCounter.incrementAndGet());
+                    published.get(i).setId(task.getId());
+                } else if (taskStore.containsKey(task.getId())) {
+                    continue;
+                }
+                stored.add(task);
+                heads.add(install(sequence, published.get(i)));
+            }
+            committedSequence = sequence;
+            for (TaskManagement task : stored) {
+                task.setVersion(sequence);
+            }
+
+            long oldest = oldestOpenSnapshot();
+            for (TaskVersion head : heads) {
+                trim(head, oldest);
+            }
+            return stored;
+        } finally {
+            commitLock.unlock();
+        }
     }
 
     @Override
     public List<TaskManagement> findAll() {
-        return List.copyOf(taskStore.values());
+        try (TaskSnapshot snapshot = openSnapshot()) {
+            return snapshot.findAll();
+        }
+    }
+
+    @Override
+    public TaskSnapshot openSnapshot() {
+        while (true) {
+            long sequence = committedSequence;
+            openSnapshots.merge(sequence, 1, Integer::sum);
+            // A commit in between may already have trimmed versions this sequence needs, so retry at the newer one
+            if (committedSequence == sequence) {
+                return new Snapshot(sequence);
+            }
+            release(sequence);
+        }
     }
 
     @Override
     public List<TaskManagement> findByReferenceIdAndReferenceType(Long referenceId, ReferenceType referenceType) {
-        return taskStore.values().stream()
+        return lookup(indexes.reference().get(ReferenceKey.of(referenceId, referenceType))).stream()
                 .filter(task -> task.getReferenceId().equals(referenceId) && task.getReferenceType().equals(referenceType))
+                .map(TaskManagement::copy)
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<TaskManagement> findByAssigneeIdIn(List<Long> assigneeIds) {
-        return taskStore.values().stream()
-                .filter(task -> assigneeIds.contains(task.getAssigneeId()))
+        return assigneeIds.stream()
+                .distinct()
+                .flatMap(assigneeId -> lookup(indexes.assignee().get(assigneeId)).stream()
+                        .filter(task -> assigneeId.equals(task.getAssigneeId())))
+                .map(TaskManagement::copy)
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<TaskManagement> findByPriority(Priority priority) {
-        return taskStore.values().stream()
+        Set<Priority> priorities = priority != null ? Set.of(priority) : Set.of();
+        RoaringBitmap ids = indexes.bitmaps().select(TaskBitmapIndex.filter(null, priorities, null, null));
+        return lookup(TaskBitmapIndex.ids(ids)).stream()
                 .filter(task -> task.getPriority() == priority)
+                .map(TaskManagement::copy)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public TaskQueryResult query(TaskQuery query) {
+        TaskQueryResult result = queryPlanner.execute(query);
+        result.setTasks(result.getTasks().stream().map(TaskManagement::copy).collect(Collectors.toList()));
+        return result;
+    }
+
+    @Override
+    public TaskIdQueryResult queryIds(TaskQuery query) {
+        TaskQueryResult result = queryPlanner.execute(query);
+        return new TaskIdQueryResult(result.getTasks().stream().map(TaskManagement::getId).collect(Collectors.toList()),
+                result.getPlan());
+    }
+
+    @Override
+    public TaskFacetCounts countFacets(TaskFacetQuery query) {
+        long startNanos = System.nanoTime();
+        Set<TaskFacet> facets = query.getFacets() != null ? query.getFacets() : EnumSet.noneOf(TaskFacet.class);
+        TaskFacetCounts counts = indexes.bitmaps().facets(TaskBitmapIndex.filter(query.getStatuses(),
+                query.getPriorities(), query.getTaskTypes(), query.getReferenceTypes()), facets);
+        counts.setElapsedMicros((System.nanoTime() - startNanos) / 1000);
+        return counts;
+    }
+
+    private void commit(TaskManagement task) {
+        TaskManagement published = publishable(task);
+        commitLock.lock();
+        try {
+            long sequence = committedSequence + 1;
+            TaskVersion head = install(sequence, published);
+            // Publish the sequence only after the version is reachable, so a snapshot at it sees the write
+            committedSequence = sequence;
+            trim(head, oldestOpenSnapshot());
+            task.setVersion(sequence);
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    /**
+     * Rejects a caller-supplied id outside the bitmap key space. Checked before anything is installed:
+     * install() would fail half-way through, after linking a version under a sequence never published.
+     */
+    private static void checkId(Long id) {
+        if (id != null && !TaskBitmapIndex.isDenseId(id)) {
+            throw new IllegalArgumentException("Task id out of range: " + id);
+        }
+    }
+
+    private static TaskManagement publishable(TaskManagement task) {
+        TaskManagement published = task.copy();
+        published.setComments(List.copyOf(task.getComments()));
+        return published;
+    }
+
+    /**
+     * Links a new head version and indexes it. Called under the commit lock, before the sequence is published.
+     */
+    private TaskVersion install(long sequence, TaskManagement published) {
+        published.setVersion(sequence);
+        TaskVersion head = taskStore.compute(published.getId(),
+                (id, previous) -> new TaskVersion(sequence, published, previous));
+        indexes.update(published);
+        return head;
+    }
+
+    private void trim(TaskVersion head, long oldest) {
+        head.trim(oldest);
+        if (head.hasHistory()) {
+            versionedIds.add(head.task().getId());
+        }
+    }
+
+    private long oldestOpenSnapshot() {
+        // Read before the open snapshots: a snapshot registered after that lookup is at this sequence or later
+        long committed = committedSequence;
+        Map.Entry<Long, Integer> oldest = openSnapshots.firstEntry();
+        return oldest != null ? Math.min(oldest.getKey(), committed) : committed;
+    }
+
+    private void release(long sequence) {
+        openSnapshots.computeIfPresent(sequence, (seq, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * Unlinks versions no open snapshot can reach any more. Runs without the commit lock: a trim only
+     * cuts links below the version visible at the oldest snapshot, which a concurrent commit keeps too.
+     */
+    private void reclaimVersions() {
+        long oldest = oldestOpenSnapshot();
+        for (Long id : versionedIds) {
+            TaskVersion head = taskStore.get(id);
+            if (head != null) {
+                head.trim(oldest);
+            }
+            if (head == null || !head.hasHistory()) {
+                versionedIds.remove(id);
+                // A commit in between may have linked a newer head that still has history
+                TaskVersion current = taskStore.get(id);
+                if (current != null && current.hasHistory()) {
+                    versionedIds.add(id);
+                }
+            }
+        }
+    }
+
+    /**
+     * Number of tasks whose head still links to older versions.
+     */
+    int versionedTaskCount() {
+        return versionedIds.size();
+    }
+
+    /**
+     * Latest committed state of a task, shared with other readers and therefore not to be modified.
+     */
+    private TaskManagement head(Long id) {
+        TaskVersion version = taskStore.get(id);
+        return version != null ? version.task() : null;
+    }
+
+    private List<TaskManagement> lookup(Iterable<Long> ids) {
+        List<TaskManagement> tasks = new ArrayList<>();
+        for (Long id : ids) {
+            TaskManagement task = head(id);
+            if (task != null) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+
+    private final class Snapshot implements TaskSnapshot {
+
+        private final long sequence;
+        private boolean closed;
+
+        private Snapshot(long sequence) {
+            this.sequence = sequence;
+        }
+
+        @Override
+        public long getSequence() {
+            return sequence;
+        }
+
+        @Override
+        public Optional<TaskManagement> findById(Long id) {
+            TaskVersion head = taskStore.get(id);
+            TaskVersion visible = head != null ? head.visibleAt(sequence) : null;
+            return Optional.ofNullable(visible).map(version -> version.task().copy());
+        }
+
+        @Override
+        public List<TaskManagement> findAll() {
+            List<TaskManagement> tasks = new ArrayList<>();
+            for (TaskVersion head : taskStore.values()) {
+                TaskVersion visible = head.visibleAt(sequence);
+                if (visible != null) {
+                    tasks.add(visible.task().copy());
+                }
+            }
+            return tasks;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            release(sequence);
+            // Checked after releasing, so of two snapshots closing together the later one always reclaims
+            Map.Entry<Long, Integer> oldest = openSnapshots.firstEntry();
+            if ((oldest == null || oldest.getKey() > sequence) && !versionedIds.isEmpty()) {
+                reclaimVersions();
+            }
+        }
+    }
 }
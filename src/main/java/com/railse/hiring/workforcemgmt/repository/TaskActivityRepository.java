@@ -0,0 +1,10 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+
+import java.util.List;
+
+public interface TaskActivityRepository {
+    void saveAll(List<TaskActivity> activities);
+    List<TaskActivity> findByTaskId(Long taskId);
+}
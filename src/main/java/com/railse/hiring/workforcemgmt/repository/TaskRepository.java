@@ -3,15 +3,56 @@ package com.railse.hiring.workforcemgmt.repository;
 import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
 import com.railse.hiring.workforcemgmt.model.TaskManagement;
 import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.repository.index.TaskFacetCounts;
+import com.railse.hiring.workforcemgmt.repository.query.TaskFacetQuery;
+import com.railse.hiring.workforcemgmt.repository.query.TaskIdQueryResult;
+import com.railse.hiring.workforcemgmt.repository.query.TaskQuery;
+import com.railse.hiring.workforcemgmt.repository.query.TaskQueryResult;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 public interface TaskRepository {
     Optional<TaskManagement> findById(Long id);
+
+    /**
+     * Stores the task as given, replacing whatever is committed under its id. Tasks without an id
+     * are new and are given an id and creation time.
+     */
     TaskManagement save(TaskManagement task);
+
+    /**
+     * Applies {@code change} to a copy of the latest version of a task and commits the result, with
+     * no other write to the task in between. Use it for read-modify-write instead of
+     * {@link #findById} followed by {@link #save}, which overwrites concurrent changes.
+     * <p>
+     * {@code change} runs without holding off other writers. If another write to the task commits
+     * first, {@code change} runs again on the newer version, so it must have no side effects. It
+     * returns the task to commit, or null to leave the task unchanged.
+     *
+     * @return the task before and after the change, or empty if there is no task with this id
+     */
+    Optional<TaskUpdate> update(Long id, UnaryOperator<TaskManagement> change);
+
+    /**
+     * Stores a batch of tasks as a single commit, for imports. Tasks keep their ids (tasks without
+     * one are given a new id) and creation time; later ids continue above the highest one loaded.
+     * A task whose id is already stored, or taken earlier in the batch, is skipped. The tasks
+     * returned carry the version they were stored as, so state derived from them can be brought up
+     * to date after the commit without overwriting a later update.
+     *
+     * @return the tasks stored, in batch order
+     * @throws IllegalArgumentException if an id is outside {@code 1..Integer.MAX_VALUE}; nothing is stored
+     */
+    List<TaskManagement> bulkLoad(List<TaskManagement> tasks);
+
     List<TaskManagement> findAll();
+    TaskSnapshot openSnapshot();
     List<TaskManagement> findByReferenceIdAndReferenceType(Long referenceId, ReferenceType referenceType);
     List<TaskManagement> findByAssigneeIdIn(List<Long> assigneeIds);
     List<TaskManagement> findByPriority(Priority priority);
+    TaskQueryResult query(TaskQuery query);
+    TaskIdQueryResult queryIds(TaskQuery query);
+    TaskFacetCounts countFacets(TaskFacetQuery query);
 }
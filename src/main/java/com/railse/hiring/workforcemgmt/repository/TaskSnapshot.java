@@ -0,0 +1,19 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Point-in-time view of the task store. Reads see exactly the writes committed before the snapshot
+ * was opened. Close it promptly: the store keeps the versions it can see until then.
+ */
+public interface TaskSnapshot extends AutoCloseable {
+    long getSequence();
+    Optional<TaskManagement> findById(Long id);
+    List<TaskManagement> findAll();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,14 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+
+/**
+ * Outcome of {@link TaskRepository#update}: the task as it was before the change and as committed,
+ * or a null {@code after} when the change left the task alone.
+ */
+public record TaskUpdate(TaskManagement before, TaskManagement after) {
+
+    public boolean applied() {
+        return after != null;
+    }
+}
@@ -0,0 +1,54 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+
+/**
+ * One committed state of a task. The task is a private copy that is never modified after it is
+ * published; {@code previous} links to older versions for as long as some snapshot may still read them.
+ */
+final class TaskVersion {
+
+    private final long sequence;
+    private final TaskManagement task;
+    private volatile TaskVersion previous;
+
+    TaskVersion(long sequence, TaskManagement task, TaskVersion previous) {
+        this.sequence = sequence;
+        this.task = task;
+        this.previous = previous;
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    TaskManagement task() {
+        return task;
+    }
+
+    boolean hasHistory() {
+        return previous != null;
+    }
+
+    /**
+     * Returns the newest version committed at or before {@code snapshotSequence}, or null if the task
+     * did not exist yet.
+     */
+    TaskVersion visibleAt(long snapshotSequence) {
+        TaskVersion version = this;
+        while (version != null && version.sequence > snapshotSequence) {
+            version = version.previous;
+        }
+        return version;
+    }
+
+    /**
+     * Unlinks every version older than the one visible at {@code oldestSnapshot}; no open snapshot can reach them.
+     */
+    void trim(long oldestSnapshot) {
+        TaskVersion oldestNeeded = visibleAt(oldestSnapshot);
+        if (oldestNeeded != null) {
+            oldestNeeded.previous = null;
+        }
+    }
+}
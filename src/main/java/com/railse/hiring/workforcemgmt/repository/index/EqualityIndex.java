@@ -0,0 +1,72 @@
+package com.railse.hiring.workforcemgmt.repository.index;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hash index from a field value to the ids of the tasks holding that value.
+ * Null keys are never indexed, so a predicate on the field never matches a task where it is unset.
+ */
+public class EqualityIndex<K> {
+
+    private final String name;
+    private final Map<K, Set<Long>> postings = new ConcurrentHashMap<>();
+
+    public EqualityIndex(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void add(K key, Long taskId) {
+        if (key == null) {
+            return;
+        }
+        postings.compute(key, (k, ids) -> {
+            Set<Long> target = ids != null ? ids : ConcurrentHashMap.newKeySet();
+            target.add(taskId);
+            return target;
+        });
+    }
+
+    public void remove(K key, Long taskId) {
+        if (key == null) {
+            return;
+        }
+        postings.computeIfPresent(key, (k, ids) -> {
+            ids.remove(taskId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    public Set<Long> get(K key) {
+        Set<Long> ids = key != null ? postings.get(key) : null;
+        return ids != null ? Collections.unmodifiableSet(ids) : Collections.emptySet();
+    }
+
+    public boolean contains(Collection<K> keys, Long taskId) {
+        for (K key : keys) {
+            Set<Long> ids = key != null ? postings.get(key) : null;
+            if (ids != null && ids.contains(taskId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long estimate(Collection<K> keys) {
+        long total = 0;
+        for (K key : keys) {
+            Set<Long> ids = key != null ? postings.get(key) : null;
+            if (ids != null) {
+                total += ids.size();
+            }
+        }
+        return total;
+    }
+}
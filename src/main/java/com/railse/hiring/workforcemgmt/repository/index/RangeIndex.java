@@ -0,0 +1,114 @@
+package com.railse.hiring.workforcemgmt.repository.index;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Ordered index over an epoch-millis field. Supports range estimates that stop counting once they
+ * exceed a cap, so the planner never pays a full range walk just to reject this index.
+ * <p>
+ * Ids sharing a value are kept sorted ascending, whichever way the values are walked, so a scan
+ * yields ids in the order the planner sorts ties in and can stop at a limit mid-way through them.
+ */
+public class RangeIndex {
+
+    private final String name;
+    private final ConcurrentSkipListMap<Long, Bucket> postings = new ConcurrentSkipListMap<>();
+
+    public RangeIndex(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void add(Long value, Long taskId) {
+        if (value == null) {
+            return;
+        }
+        postings.compute(value, (k, bucket) -> {
+            Bucket target = bucket != null ? bucket : new Bucket();
+            if (target.ids.add(taskId)) {
+                target.size++;
+            }
+            return target;
+        });
+    }
+
+    public void remove(Long value, Long taskId) {
+        if (value == null) {
+            return;
+        }
+        postings.computeIfPresent(value, (k, bucket) -> {
+            if (bucket.ids.remove(taskId)) {
+                bucket.size--;
+            }
+            return bucket.size > 0 ? bucket : null;
+        });
+    }
+
+    /**
+     * Counts the ids in [from, to], giving up as soon as the count exceeds {@code cap}.
+     */
+    public long estimate(Long from, Long to, long cap) {
+        long total = 0;
+        for (Bucket bucket : range(from, to, false).values()) {
+            total += bucket.size;
+            if (total > cap) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    public Iterable<Long> ids(Long from, Long to, boolean descending) {
+        NavigableMap<Long, Bucket> range = range(from, to, descending);
+        return () -> new Iterator<>() {
+            private final Iterator<Bucket> buckets = range.values().iterator();
+            private Iterator<Long> current = List.<Long>of().iterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && buckets.hasNext()) {
+                    // Snapshot the bucket so concurrent writers cannot break iteration
+                    current = new ArrayList<>(buckets.next().ids).iterator();
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public Long next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+    }
+
+    private NavigableMap<Long, Bucket> range(Long from, Long to, boolean descending) {
+        long lower = from != null ? from : Long.MIN_VALUE;
+        long upper = to != null ? to : Long.MAX_VALUE;
+        if (lower > upper) {
+            return new ConcurrentSkipListMap<>();
+        }
+        NavigableMap<Long, Bucket> range = postings.subMap(lower, true, upper, true);
+        return descending ? range.descendingMap() : range;
+    }
+
+    /**
+     * The ids sharing one value. Only changed inside {@code postings.compute}, which also keeps the
+     * size, so estimates do not have to count the sorted set.
+     */
+    private static final class Bucket {
+        private final NavigableSet<Long> ids = new ConcurrentSkipListSet<>();
+        private volatile int size;
+    }
+}
@@ -0,0 +1,16 @@
+package com.railse.hiring.workforcemgmt.repository.index;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+
+/**
+ * Composite key of the reference index; a task belongs to exactly one (referenceId, referenceType) pair.
+ */
+public record ReferenceKey(Long referenceId, ReferenceType referenceType) {
+
+    public static ReferenceKey of(Long referenceId, ReferenceType referenceType) {
+        if (referenceId == null || referenceType == null) {
+            return null;
+        }
+        return new ReferenceKey(referenceId, referenceType);
+    }
+}
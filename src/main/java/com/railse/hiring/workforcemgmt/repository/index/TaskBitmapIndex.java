@@ -0,0 +1,180 @@
+package com.railse.hiring.workforcemgmt.repository.index;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskFacet;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compressed bitmaps keyed by dense task id, one per value of every {@link TaskFacet}.
+ * A filter is answered as the AND across facets of the OR of the selected values, so counts never
+ * touch the tasks themselves. All bitmaps share one lock, which keeps multi-facet answers consistent.
+ */
+public class TaskBitmapIndex {
+
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final RoaringBitmap[][] bitmaps = new RoaringBitmap[TaskFacet.values().length][];
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public TaskBitmapIndex() {
+        for (TaskFacet facet : TaskFacet.values()) {
+            RoaringBitmap[] byValue = new RoaringBitmap[facet.getValues().length];
+            for (int i = 0; i < byValue.length; i++) {
+                byValue[i] = new RoaringBitmap();
+            }
+            bitmaps[facet.ordinal()] = byValue;
+        }
+    }
+
+    /**
+     * Builds a filter from the non-empty value sets; a facet without values is not constrained.
+     */
+    public static Map<TaskFacet, Collection<? extends Enum<?>>> filter(Set<TaskStatus> statuses, Set<Priority> priorities,
+                                                                      Set<Task> taskTypes, Set<ReferenceType> referenceTypes) {
+        Map<TaskFacet, Collection<? extends Enum<?>>> filter = new EnumMap<>(TaskFacet.class);
+        putIfSet(filter, TaskFacet.STATUS, statuses);
+        putIfSet(filter, TaskFacet.PRIORITY, priorities);
+        putIfSet(filter, TaskFacet.TASK, taskTypes);
+        putIfSet(filter, TaskFacet.REFERENCE_TYPE, referenceTypes);
+        return filter;
+    }
+
+    /**
+     * Moves a task between value bitmaps. Both arrays are indexed by {@link TaskFacet} ordinal;
+     * {@code previous} is null for a task that has never been indexed.
+     */
+    public void update(long taskId, Enum<?>[] previous, Enum<?>[] current) {
+        int id = denseId(taskId);
+        lock.writeLock().lock();
+        try {
+            if (previous == null) {
+                all.add(id);
+            }
+            for (int facet = 0; facet < bitmaps.length; facet++) {
+                Enum<?> before = previous != null ? previous[facet] : null;
+                Enum<?> after = current[facet];
+                if (before == after) {
+                    continue;
+                }
+                if (before != null) {
+                    bitmaps[facet][before.ordinal()].remove(id);
+                }
+                if (after != null) {
+                    bitmaps[facet][after.ordinal()].add(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns a private copy of the ids matching the filter.
+     */
+    public RoaringBitmap select(Map<TaskFacet, Collection<? extends Enum<?>>> filter) {
+        lock.readLock().lock();
+        try {
+            return selectLocked(filter);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the tasks matching the filter, in total and per value of each requested facet.
+     */
+    public TaskFacetCounts facets(Map<TaskFacet, Collection<? extends Enum<?>>> filter, Collection<TaskFacet> facets) {
+        TaskFacetCounts counts = new TaskFacetCounts();
+        lock.readLock().lock();
+        try {
+            RoaringBitmap base = selectLocked(filter);
+            counts.setTotal(base.getLongCardinality());
+            for (TaskFacet facet : facets) {
+                Map<String, Long> byValue = new LinkedHashMap<>();
+                for (Enum<?> value : facet.getValues()) {
+                    byValue.put(value.name(), (long) RoaringBitmap.andCardinality(base, bitmaps[facet.ordinal()][value.ordinal()]));
+                }
+                counts.getFacets().put(facet, byValue);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return counts;
+    }
+
+    public static Iterable<Long> ids(RoaringBitmap bitmap) {
+        return ids(bitmap, false);
+    }
+
+    /**
+     * The ids of a bitmap in ascending order, or descending when {@code descending} is set.
+     */
+    public static Iterable<Long> ids(RoaringBitmap bitmap, boolean descending) {
+        return () -> new Iterator<>() {
+            private final IntIterator ids = descending ? bitmap.getReverseIntIterator() : bitmap.getIntIterator();
+
+            @Override
+            public boolean hasNext() {
+                return ids.hasNext();
+            }
+
+            @Override
+            public Long next() {
+                if (!ids.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return (long) ids.next();
+            }
+        };
+    }
+
+    /**
+     * Whether a task id fits the bitmap key space, i.e. {@link #denseId} accepts it.
+     */
+    public static boolean isDenseId(long taskId) {
+        return taskId >= 1 && taskId <= Integer.MAX_VALUE;
+    }
+
+    public static int denseId(long taskId) {
+        // Task ids come from a sequence starting at 1, so they fit the 32-bit bitmap key space
+        return Math.toIntExact(taskId);
+    }
+
+    private RoaringBitmap selectLocked(Map<TaskFacet, Collection<? extends Enum<?>>> filter) {
+        RoaringBitmap result = null;
+        for (Map.Entry<TaskFacet, Collection<? extends Enum<?>>> entry : filter.entrySet()) {
+            RoaringBitmap union = new RoaringBitmap();
+            for (Enum<?> value : entry.getValue()) {
+                if (value != null) {
+                    union.or(bitmaps[entry.getKey().ordinal()][value.ordinal()]);
+                }
+            }
+            if (result == null) {
+                result = union;
+            } else {
+                result.and(union);
+            }
+        }
+        return result != null ? result : all.clone();
+    }
+
+    private static void putIfSet(Map<TaskFacet, Collection<? extends Enum<?>>> filter, TaskFacet facet,
+                                 Set<? extends Enum<?>> values) {
+        if (values != null && !values.isEmpty()) {
+            filter.put(facet, values);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.railse.hiring.workforcemgmt.repository.index;
+
+import com.railse.hiring.workforcemgmt.model.enums.TaskFacet;
+import lombok.Data;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+public class TaskFacetCounts {
+    private long total;
+    private Map<TaskFacet, Map<String, Long>> facets = new EnumMap<>(TaskFacet.class);
+    private long elapsedMicros;
+}
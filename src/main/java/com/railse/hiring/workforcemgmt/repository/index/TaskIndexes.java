@@ -0,0 +1,104 @@
+package com.railse.hiring.workforcemgmt.repository.index;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.TaskFacet;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Secondary indexes of the in-memory store, updated with the private copy the store publishes on
+ * each commit. The values indexed last are remembered per task id, so the next update knows which
+ * postings to move without looking at the store.
+ */
+public class TaskIndexes {
+
+    private final TaskBitmapIndex bitmapIndex = new TaskBitmapIndex();
+    private final EqualityIndex<Long> assigneeIndex = new EqualityIndex<>("assignee_id");
+    private final EqualityIndex<ReferenceKey> referenceIndex = new EqualityIndex<>("reference");
+    private final RangeIndex createdAtIndex = new RangeIndex("created_at");
+    private final RangeIndex startedAtIndex = new RangeIndex("started_at");
+    private final RangeIndex deadlineIndex = new RangeIndex("task_deadline_time");
+
+    private final Map<Long, IndexedValues> indexedValues = new ConcurrentHashMap<>();
+
+    public void update(TaskManagement task) {
+        Long id = task.getId();
+        indexedValues.compute(id, (key, previous) -> {
+            IndexedValues current = IndexedValues.of(task);
+            bitmapIndex.update(id, previous != null ? previous.facets() : null, current.facets());
+            if (previous != null) {
+                move(assigneeIndex, previous.assigneeId(), current.assigneeId(), id);
+                move(referenceIndex, previous.reference(), current.reference(), id);
+                move(createdAtIndex, previous.createdAt(), current.createdAt(), id);
+                move(startedAtIndex, previous.startedAt(), current.startedAt(), id);
+                move(deadlineIndex, previous.deadline(), current.deadline(), id);
+            } else {
+                assigneeIndex.add(current.assigneeId(), id);
+                referenceIndex.add(current.reference(), id);
+                createdAtIndex.add(current.createdAt(), id);
+                startedAtIndex.add(current.startedAt(), id);
+                deadlineIndex.add(current.deadline(), id);
+            }
+            return current;
+        });
+    }
+
+    public int size() {
+        return indexedValues.size();
+    }
+
+    public TaskBitmapIndex bitmaps() {
+        return bitmapIndex;
+    }
+
+    public EqualityIndex<Long> assignee() {
+        return assigneeIndex;
+    }
+
+    public EqualityIndex<ReferenceKey> reference() {
+        return referenceIndex;
+    }
+
+    public RangeIndex createdAt() {
+        return createdAtIndex;
+    }
+
+    public RangeIndex startedAt() {
+        return startedAtIndex;
+    }
+
+    public RangeIndex deadline() {
+        return deadlineIndex;
+    }
+
+    private static <K> void move(EqualityIndex<K> index, K from, K to, Long id) {
+        if (!Objects.equals(from, to)) {
+            index.remove(from, id);
+            index.add(to, id);
+        }
+    }
+
+    private static void move(RangeIndex index, Long from, Long to, Long id) {
+        if (!Objects.equals(from, to)) {
+            index.remove(from, id);
+            index.add(to, id);
+        }
+    }
+
+    private record IndexedValues(Enum<?>[] facets, Long assigneeId, ReferenceKey reference,
+                                 Long createdAt, Long startedAt, Long deadline) {
+
+        static IndexedValues of(TaskManagement task) {
+            Enum<?>[] facets = new Enum<?>[TaskFacet.values().length];
+            facets[TaskFacet.STATUS.ordinal()] = task.getStatus();
+            facets[TaskFacet.PRIORITY.ordinal()] = task.getPriority();
+            facets[TaskFacet.TASK.ordinal()] = task.getTask();
+            facets[TaskFacet.REFERENCE_TYPE.ordinal()] = task.getReferenceType();
+            return new IndexedValues(facets, task.getAssigneeId(),
+                    ReferenceKey.of(task.getReferenceId(), task.getReferenceType()),
+                    task.getCreatedAt(), task.getStartedAt(), task.getTaskDeadlineTime());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.railse.hiring.workforcemgmt.repository.query;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class QueryPlan {
+    private AccessPath accessPath;
+    private String drivingIndex;
+    private long estimatedCandidates;
+    private List<String> consideredIndexes = new ArrayList<>();
+    private List<String> intersectedIndexes = new ArrayList<>();
+    private List<String> residualPredicates = new ArrayList<>();
+    private String sort;
+    private int limit;
+    private long examined;
+    private long matched;
+    private long returned;
+    private long elapsedMicros;
+
+    public enum AccessPath {
+        INDEX_SCAN,
+        ORDERED_INDEX_SCAN,
+        FULL_SCAN
+    }
+}
@@ -0,0 +1,22 @@
+package com.railse.hiring.workforcemgmt.repository.query;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskFacet;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import lombok.Data;
+
+import java.util.Set;
+
+/**
+ * Filter over the bitmap-indexed facets plus the facets to break the matching count down by.
+ */
+@Data
+public class TaskFacetQuery {
+    private Set<TaskStatus> statuses;
+    private Set<Priority> priorities;
+    private Set<Task> taskTypes;
+    private Set<ReferenceType> referenceTypes;
+    private Set<TaskFacet> facets;
+}
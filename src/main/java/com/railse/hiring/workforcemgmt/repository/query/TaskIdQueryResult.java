@@ -0,0 +1,16 @@
+package com.railse.hiring.workforcemgmt.repository.query;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Ids matching a {@link TaskQuery}, in result order, for callers that resolve the tasks themselves.
+ */
+@Data
+@AllArgsConstructor
+public class TaskIdQueryResult {
+    private List<Long> taskIds;
+    private QueryPlan plan;
+}
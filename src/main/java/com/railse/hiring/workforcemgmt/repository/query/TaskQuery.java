@@ -0,0 +1,33 @@
+package com.railse.hiring.workforcemgmt.repository.query;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.common.model.enums.SortDirection;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskSortField;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import lombok.Data;
+
+import java.util.Set;
+
+/**
+ * Conjunction of filters over tasks. Empty or null filters are not applied; time ranges are inclusive.
+ */
+@Data
+public class TaskQuery {
+    private Set<TaskStatus> statuses;
+    private Set<Priority> priorities;
+    private Set<Task> taskTypes;
+    private Set<Long> assigneeIds;
+    private Long referenceId;
+    private ReferenceType referenceType;
+    private Long createdAtFrom;
+    private Long createdAtTo;
+    private Long startedAtFrom;
+    private Long startedAtTo;
+    private Long deadlineFrom;
+    private Long deadlineTo;
+    private TaskSortField sortBy = TaskSortField.ID;
+    private SortDirection sortDirection = SortDirection.ASC;
+    private int limit;
+}
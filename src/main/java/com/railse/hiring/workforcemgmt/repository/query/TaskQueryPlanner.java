@@ -0,0 +1,335 @@
+package com.railse.hiring.workforcemgmt.repository.query;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.SortDirection;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.TaskFacet;
+import com.railse.hiring.workforcemgmt.model.enums.TaskSortField;
+import com.railse.hiring.workforcemgmt.repository.index.EqualityIndex;
+import com.railse.hiring.workforcemgmt.repository.index.RangeIndex;
+import com.railse.hiring.workforcemgmt.repository.index.ReferenceKey;
+import com.railse.hiring.workforcemgmt.repository.index.TaskBitmapIndex;
+import com.railse.hiring.workforcemgmt.repository.index.TaskIndexes;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Picks the most selective index for a {@link TaskQuery}, intersects its candidates with the other
+ * equality indexes and evaluates every predicate against the stored task before returning it.
+ * The final check keeps results exact even if an index lags behind a concurrent update.
+ * <p>
+ * When the driving index yields ids in the requested sort order the scan stops at the limit;
+ * otherwise only the best {@code limit} matches are kept while scanning.
+ */
+public class TaskQueryPlanner {
+
+    // Most ids a range estimate counts when no equality index bounds it; past this ranges only compete with each other
+    static final long RANGE_ESTIMATE_BUDGET = 1_000;
+
+    private final TaskIndexes indexes;
+    private final Function<Long, TaskManagement> lookup;
+    private final Supplier<Collection<TaskManagement>> allTasks;
+
+    public TaskQueryPlanner(TaskIndexes indexes, Function<Long, TaskManagement> lookup,
+                            Supplier<Collection<TaskManagement>> allTasks) {
+        this.indexes = indexes;
+        this.lookup = lookup;
+        this.allTasks = allTasks;
+    }
+
+    public TaskQueryResult execute(TaskQuery query) {
+        long startNanos = System.nanoTime();
+        int limit = query.getLimit() > 0 ? query.getLimit() : Integer.MAX_VALUE;
+        boolean descending = query.getSortDirection() == SortDirection.DESC;
+
+        QueryPlan plan = new QueryPlan();
+        plan.setLimit(limit);
+        plan.setSort(query.getSortBy() + " " + query.getSortDirection());
+
+        List<Candidate> candidates = candidates(query);
+        candidates.forEach(candidate -> plan.getConsideredIndexes().add(candidate.describe()));
+        Candidate driver = candidates.stream()
+                .min(Comparator.comparingLong(Candidate::estimate))
+                .orElse(null);
+
+        Iterable<Long> ids = null;
+        List<Candidate> intersected = new ArrayList<>();
+        boolean ordered = false;
+        if (driver != null) {
+            plan.setAccessPath(QueryPlan.AccessPath.INDEX_SCAN);
+            plan.setDrivingIndex(driver.name());
+            plan.setEstimatedCandidates(driver.estimate());
+            ordered = driver.order() == sortField(query);
+            ids = driver.ids().apply(ordered && descending);
+            for (Candidate candidate : candidates) {
+                if (candidate != driver && candidate.membership() != null) {
+                    intersected.add(candidate);
+                    plan.getIntersectedIndexes().add(candidate.name());
+                }
+            }
+        } else if (sortField(query) == TaskSortField.CREATED_AT) {
+            // Nothing to narrow by, but the created_at index already yields rows in the requested order
+            plan.setAccessPath(QueryPlan.AccessPath.ORDERED_INDEX_SCAN);
+            plan.setDrivingIndex(indexes.createdAt().getName());
+            plan.setEstimatedCandidates(indexes.size());
+            ids = indexes.createdAt().ids(null, null, descending);
+            ordered = true;
+        } else {
+            plan.setAccessPath(QueryPlan.AccessPath.FULL_SCAN);
+            plan.setEstimatedCandidates(indexes.size());
+        }
+
+        List<Candidate> covering = new ArrayList<>(intersected);
+        if (driver != null) {
+            covering.add(driver);
+        }
+        for (String predicate : predicates(query)) {
+            if (covering.stream().noneMatch(candidate -> candidate.covers().contains(predicate))) {
+                plan.getResidualPredicates().add(predicate);
+            }
+        }
+
+        Comparator<TaskManagement> order = comparator(sortField(query), descending);
+        TopMatches matched = new TopMatches(order, limit);
+        long examined = 0;
+        if (ids == null) {
+            for (TaskManagement task : allTasks.get()) {
+                examined++;
+                if (matches(query, task)) {
+                    matched.offer(task);
+                }
+            }
+        } else {
+            Set<Long> seen = new HashSet<>();
+            for (Long id : ids) {
+                if (!seen.add(id) || !memberOfAll(intersected, id)) {
+                    continue;
+                }
+                examined++;
+                TaskManagement task = lookup.apply(id);
+                if (task != null && matches(query, task)) {
+                    matched.offer(task);
+                    if (ordered && matched.count() >= limit) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        List<TaskManagement> result = matched.sorted();
+
+        plan.setExamined(examined);
+        plan.setMatched(matched.count());
+        plan.setReturned(result.size());
+        plan.setElapsedMicros((System.nanoTime() - startNanos) / 1000);
+        return new TaskQueryResult(result, plan);
+    }
+
+    private List<Candidate> candidates(TaskQuery query) {
+        List<Candidate> candidates = new ArrayList<>();
+        // A lone reference type is a facet; together with a reference id the reference index covers it
+        Set<ReferenceType> referenceTypes = query.getReferenceId() == null && query.getReferenceType() != null
+                ? Set.of(query.getReferenceType()) : null;
+        Map<TaskFacet, Collection<? extends Enum<?>>> facetFilter = TaskBitmapIndex.filter(
+                query.getStatuses(), query.getPriorities(), query.getTaskTypes(), referenceTypes);
+        if (!facetFilter.isEmpty()) {
+            candidates.add(bitmap(indexes.bitmaps(), facetFilter));
+        }
+        if (isSet(query.getAssigneeIds())) {
+            candidates.add(equality(indexes.assignee(), query.getAssigneeIds()));
+        }
+        if (query.getReferenceId() != null && query.getReferenceType() != null) {
+            candidates.add(equality(indexes.reference(),
+                    List.of(ReferenceKey.of(query.getReferenceId(), query.getReferenceType()))));
+        }
+
+        // Range estimates walk the index, so they are capped at the best estimate found so far, or at a fixed budget
+        long best = candidates.stream().mapToLong(Candidate::estimate).min().orElse(RANGE_ESTIMATE_BUDGET);
+        if (query.getCreatedAtFrom() != null || query.getCreatedAtTo() != null) {
+            Candidate candidate = range(indexes.createdAt(), TaskSortField.CREATED_AT, query.getCreatedAtFrom(), query.getCreatedAtTo(), best);
+            candidates.add(candidate);
+            best = Math.min(best, candidate.estimate());
+        }
+        if (query.getStartedAtFrom() != null || query.getStartedAtTo() != null) {
+            Candidate candidate = range(indexes.startedAt(), TaskSortField.STARTED_AT, query.getStartedAtFrom(), query.getStartedAtTo(), best);
+            candidates.add(candidate);
+            best = Math.min(best, candidate.estimate());
+        }
+        if (query.getDeadlineFrom() != null || query.getDeadlineTo() != null) {
+            candidates.add(range(indexes.deadline(), TaskSortField.TASK_DEADLINE_TIME, query.getDeadlineFrom(), query.getDeadlineTo(), best));
+        }
+        return candidates;
+    }
+
+    private static Candidate bitmap(TaskBitmapIndex index, Map<TaskFacet, Collection<? extends Enum<?>>> filter) {
+        // The AND/OR is evaluated up front, so the estimate is the exact number of matching ids
+        RoaringBitmap ids = index.select(filter);
+        List<String> covers = filter.keySet().stream().map(TaskFacet::getField).toList();
+        return new Candidate("bitmap" + covers, ids.getLongCardinality(), false, covers, TaskSortField.ID,
+                descending -> TaskBitmapIndex.ids(ids, descending), id -> ids.contains(TaskBitmapIndex.denseId(id)));
+    }
+
+    private static <K> Candidate equality(EqualityIndex<K> index, Collection<K> keys) {
+        return new Candidate(index.getName(), index.estimate(keys), false, List.of(index.getName()), null,
+                descending -> () -> keys.stream().flatMap(key -> index.get(key).stream()).iterator(),
+                id -> index.contains(keys, id));
+    }
+
+    private static Candidate range(RangeIndex index, TaskSortField order, Long from, Long to, long cap) {
+        long estimate = index.estimate(from, to, cap);
+        return new Candidate(index.getName(), estimate, estimate > cap, List.of(index.getName()), order,
+                descending -> index.ids(from, to, descending), null);
+    }
+
+    private static List<String> predicates(TaskQuery query) {
+        List<String> predicates = new ArrayList<>();
+        if (isSet(query.getStatuses())) {
+            predicates.add("status");
+        }
+        if (isSet(query.getPriorities())) {
+            predicates.add("priority");
+        }
+        if (isSet(query.getTaskTypes())) {
+            predicates.add("task");
+        }
+        if (isSet(query.getAssigneeIds())) {
+            predicates.add("assignee_id");
+        }
+        if (query.getReferenceId() != null && query.getReferenceType() != null) {
+            predicates.add("reference");
+        } else if (query.getReferenceId() != null) {
+            predicates.add("reference_id");
+        } else if (query.getReferenceType() != null) {
+            predicates.add("reference_type");
+        }
+        if (query.getCreatedAtFrom() != null || query.getCreatedAtTo() != null) {
+            predicates.add("created_at");
+        }
+        if (query.getStartedAtFrom() != null || query.getStartedAtTo() != null) {
+            predicates.add("started_at");
+        }
+        if (query.getDeadlineFrom() != null || query.getDeadlineTo() != null) {
+            predicates.add("task_deadline_time");
+        }
+        return predicates;
+    }
+
+    /**
+     * Whether the task satisfies every filter of the query.
+     */
+    public static boolean matches(TaskQuery query, TaskManagement task) {
+        return in(query.getStatuses(), task.getStatus())
+                && in(query.getPriorities(), task.getPriority())
+                && in(query.getTaskTypes(), task.getTask())
+                && in(query.getAssigneeIds(), task.getAssigneeId())
+                && (query.getReferenceId() == null || query.getReferenceId().equals(task.getReferenceId()))
+                && (query.getReferenceType() == null || query.getReferenceType() == task.getReferenceType())
+                && within(task.getCreatedAt(), query.getCreatedAtFrom(), query.getCreatedAtTo())
+                && within(task.getStartedAt(), query.getStartedAtFrom(), query.getStartedAtTo())
+                && within(task.getTaskDeadlineTime(), query.getDeadlineFrom(), query.getDeadlineTo());
+    }
+
+    private static boolean memberOfAll(List<Candidate> intersected, Long id) {
+        for (Candidate candidate : intersected) {
+            if (!candidate.membership().test(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static <T> boolean in(Set<T> values, T value) {
+        return !isSet(values) || (value != null && values.contains(value));
+    }
+
+    private static boolean within(Long value, Long from, Long to) {
+        if (from == null && to == null) {
+            return true;
+        }
+        return value != null && (from == null || value >= from) && (to == null || value <= to);
+    }
+
+    private static boolean isSet(Collection<?> values) {
+        return values != null && !values.isEmpty();
+    }
+
+    private static TaskSortField sortField(TaskQuery query) {
+        return query.getSortBy() != null ? query.getSortBy() : TaskSortField.ID;
+    }
+
+    private static Comparator<TaskManagement> comparator(TaskSortField sortBy, boolean descending) {
+        Comparator<TaskManagement> byField = switch (sortBy) {
+            case CREATED_AT -> Comparator.comparing(TaskManagement::getCreatedAt, order(descending));
+            case STARTED_AT -> Comparator.comparing(TaskManagement::getStartedAt, order(descending));
+            case TASK_DEADLINE_TIME -> Comparator.comparing(TaskManagement::getTaskDeadlineTime, order(descending));
+            case PRIORITY -> Comparator.comparing(TaskManagement::getPriority, order(descending));
+            case ID -> Comparator.comparing(TaskManagement::getId, order(descending));
+        };
+        return byField.thenComparing(TaskManagement::getId);
+    }
+
+    private static <T extends Comparable<? super T>> Comparator<T> order(boolean descending) {
+        Comparator<T> natural = Comparator.naturalOrder();
+        return Comparator.nullsLast(descending ? natural.reversed() : natural);
+    }
+
+    /**
+     * @param order field the ids come out sorted by (ascending, or descending when {@code ids} is
+     *              asked for it), or null when they come in no particular order
+     */
+    private record Candidate(String name, long estimate, boolean capped, List<String> covers, TaskSortField order,
+                             Function<Boolean, Iterable<Long>> ids, Predicate<Long> membership) {
+
+        String describe() {
+            return name + " (est. " + (capped ? ">=" : "") + estimate + ")";
+        }
+    }
+
+    /**
+     * The first {@code limit} matches in sort order, kept in a heap whose head is the worst of them.
+     */
+    private static final class TopMatches {
+
+        private final Comparator<TaskManagement> order;
+        private final int limit;
+        private final PriorityQueue<TaskManagement> heap;
+        private long count;
+
+        private TopMatches(Comparator<TaskManagement> order, int limit) {
+            this.order = order;
+            this.limit = limit;
+            this.heap = new PriorityQueue<>(Math.min(limit, 1024), order.reversed());
+        }
+
+        void offer(TaskManagement task) {
+            count++;
+            if (heap.size() < limit) {
+                heap.add(task);
+            } else if (order.compare(task, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(task);
+            }
+        }
+
+        long count() {
+            return count;
+        }
+
+        List<TaskManagement> sorted() {
+            List<TaskManagement> sorted = new ArrayList<>(heap);
+            sorted.sort(order);
+            return sorted;
+        }
+    }
+}
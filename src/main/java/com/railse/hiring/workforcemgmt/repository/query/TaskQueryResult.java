@@ -0,0 +1,14 @@
+package com.railse.hiring.workforcemgmt.repository.query;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class TaskQueryResult {
+    private List<TaskManagement> tasks;
+    private QueryPlan plan;
+}
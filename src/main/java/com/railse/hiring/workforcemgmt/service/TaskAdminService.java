@@ -0,0 +1,14 @@
+package com.railse.hiring.workforcemgmt.service;
+
+import com.railse.hiring.workforcemgmt.dto.EndpointLimitResponse;
+import com.railse.hiring.workforcemgmt.dto.TaskBulkLoadRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskBulkLoadResponse;
+import com.railse.hiring.workforcemgmt.dto.TaskCacheStatsResponse;
+
+import java.util.List;
+
+public interface TaskAdminService {
+    TaskCacheStatsResponse cacheStats();
+    List<EndpointLimitResponse> endpointLimits();
+    TaskBulkLoadResponse bulkLoad(TaskBulkLoadRequest request);
+}
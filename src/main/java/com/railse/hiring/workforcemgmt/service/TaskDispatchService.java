@@ -0,0 +1,10 @@
+package com.railse.hiring.workforcemgmt.service;
+
+import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+
+import java.util.List;
+
+public interface TaskDispatchService {
+    TaskManagementDto dispatchNext(Long assigneeId, boolean awaitActivities);
+    List<TaskManagementDto> peekQueue(Long assigneeId, int limit);
+}
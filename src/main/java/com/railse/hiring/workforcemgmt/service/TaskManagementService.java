@@ -6,12 +6,24 @@ import com.railse.hiring.workforcemgmt.model.enums.Priority;
 import java.util.List;
 
 public interface TaskManagementService {
-    List<TaskManagementDto> createTasks(TaskCreateRequest request);
-    List<TaskManagementDto> updateTasks(UpdateTaskRequest request);
-    String assignByReference(AssignByReferenceRequest request);
+    List<TaskManagementDto> createTasks(TaskCreateRequest request, boolean awaitActivities);
+    List<TaskManagementDto> updateTasks(UpdateTaskRequest request, boolean awaitActivities);
+    String assignByReference(AssignByReferenceRequest request, boolean awaitActivities);
     List<TaskManagementDto> fetchTasksByDate(TaskFetchByDateRequest request);
     TaskManagementDto findTaskById(Long id);
-    TaskManagementDto updateTaskPriority(UpdatePriorityRequest request);
+    TaskManagementDto updateTaskPriority(UpdatePriorityRequest request, boolean awaitActivities);
     List<TaskManagementDto> findTasksByPriority(Priority priority);
-    TaskManagementDto addComment(AddCommentRequest request);
+    TaskManagementDto addComment(AddCommentRequest request, boolean awaitActivities);
+    TaskQueryResponse queryTasks(TaskQueryRequest request);
+    TaskFacetResponse countFacets(TaskFacetRequest request);
+    TaskSearchResponse searchTasks(String query, boolean prefix, Integer limit);
+
+    /**
+     * Exports every task as of one commit. Activities are not versioned with the tasks: they are read
+     * when each task is exported, so they may include entries for later changes and miss ones that
+     * are still being written.
+     */
+    TaskExportResponse exportTasks();
+
+    TaskThroughputResponse taskThroughput(TaskThroughputRequest request);
 }
@@ -0,0 +1,243 @@
+package com.railse.hiring.workforcemgmt.service.activity;
+
+import com.railse.hiring.workforcemgmt.common.exception.ActivitiesNotDurableException;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.repository.ActivityIdAllocator;
+import com.railse.hiring.workforcemgmt.repository.TaskActivityRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Moves activity writes off the request path. Request threads claim a sequence in a bounded ring
+ * buffer and publish into its slot; a single writer thread drains published slots in order and
+ * appends them to the {@link TaskActivityRepository} in batches.
+ * <p>
+ * {@link #publish} returns the sequence of the last published activity. Callers that need the
+ * history to be readable before they respond pass it to {@link #awaitDurable(long)}. The writer
+ * parks while the ring is empty and publishers wake it.
+ * <p>
+ * A batch the repository still rejects after a few attempts is parked rather than dropped: it is
+ * kept, and reported as not durable, until a later retry stores it. The writer retries parked
+ * batches periodically, so they may land after activities published later.
+ */
+@Component
+public class TaskActivityPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskActivityPipeline.class);
+    private static final long FULL_RING_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+    private static final long WRITE_RETRY_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long PARKED_RETRY_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final TaskActivityRepository activityRepository;
+    private final ActivityIdAllocator activityIdAllocator;
+    private final int maxBatchSize;
+    private final long awaitTimeoutMillis;
+
+    private final TaskActivity[] slots;
+    private final AtomicLongArray publishedSequences;
+    private final int mask;
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    // Sequences below these have been read out of the ring / written to the repository
+    private volatile long consumed;
+    private volatile long durable;
+    private final Object durableMonitor = new Object();
+    // Batches the repository failed to store, by first sequence; removed only once a retry stores them
+    private final ConcurrentSkipListMap<Long, ParkedBatch> parkedBatches = new ConcurrentSkipListMap<>();
+    private long lastParkedRetryNanos = System.nanoTime();
+
+    private final Thread writer;
+    private volatile boolean running = true;
+    private volatile boolean writerParked;
+
+    public TaskActivityPipeline(TaskActivityRepository activityRepository, ActivityIdAllocator activityIdAllocator,
+                                @Value("${task.activity.ring-buffer-size:65536}") int ringBufferSize,
+                                @Value("${task.activity.max-batch-size:1024}") int maxBatchSize,
+                                @Value("${task.activity.await-timeout-ms:5000}") long awaitTimeoutMillis) {
+        if (Integer.bitCount(ringBufferSize) != 1) {
+            throw new IllegalArgumentException("task.activity.ring-buffer-size must be a power of two: " + ringBufferSize);
+        }
+        this.activityRepository = activityRepository;
+        this.activityIdAllocator = activityIdAllocator;
+        this.maxBatchSize = maxBatchSize;
+        this.awaitTimeoutMillis = awaitTimeoutMillis;
+        this.slots = new TaskActivity[ringBufferSize];
+        this.publishedSequences = new AtomicLongArray(ringBufferSize);
+        for (int i = 0; i < ringBufferSize; i++) {
+            publishedSequences.set(i, -1);
+        }
+        this.mask = ringBufferSize - 1;
+        this.writer = new Thread(this::drain, "task-activity-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Assigns ids to the activities and queues them for the writer.
+     *
+     * @return the sequence of the last activity, or -1 if there was nothing to publish
+     */
+    public long publish(List<TaskActivity> activities) {
+        long sequence = -1;
+        for (TaskActivity activity : activities) {
+            activity.setId(activityIdAllocator.nextId());
+            sequence = nextSequence.getAndIncrement();
+            while (sequence - slots.length >= consumed) {
+                // Ring is full: wait for the writer to free the slot instead of dropping history
+                LockSupport.parkNanos(FULL_RING_PARK_NANOS);
+            }
+            int index = (int) (sequence & mask);
+            slots[index] = activity;
+            publishedSequences.set(index, sequence);
+            if (writerParked) {
+                LockSupport.unpark(writer);
+            }
+        }
+        return sequence;
+    }
+
+    /**
+     * Blocks until every activity up to {@code sequence} has been handed to the repository.
+     *
+     * @throws ActivitiesNotDurableException if the batch holding {@code sequence} is parked because it
+     *                                       could not be written, or the writer did not get to it in time
+     */
+    public void awaitDurable(long sequence) {
+        if (sequence < 0) {
+            return;
+        }
+        if (durable <= sequence) {
+            waitForWriter(sequence);
+        }
+        Map.Entry<Long, ParkedBatch> parked = parkedBatches.floorEntry(sequence);
+        if (parked != null && parked.getValue().last() >= sequence) {
+            throw new ActivitiesNotDurableException("Task activities could not be persisted and are parked for retry");
+        }
+    }
+
+    /**
+     * Tries once more to store every parked batch, keeping those the repository still rejects.
+     * The writer calls this periodically; it can also be called to repair after an outage.
+     *
+     * @return the number of batches stored
+     */
+    public synchronized int retryParkedBatches() {
+        int stored = 0;
+        for (Map.Entry<Long, ParkedBatch> entry : parkedBatches.entrySet()) {
+            ParkedBatch batch = entry.getValue();
+            try {
+                activityRepository.saveAll(batch.activities());
+            } catch (RuntimeException e) {
+                log.warn("Parked task activities {}..{} still cannot be persisted: {}", entry.getKey(), batch.last(),
+                        e.getMessage());
+                continue;
+            }
+            parkedBatches.remove(entry.getKey());
+            stored++;
+        }
+        return stored;
+    }
+
+    int parkedBatchCount() {
+        return parkedBatches.size();
+    }
+
+    private void waitForWriter(long sequence) {
+        long deadline = System.currentTimeMillis() + awaitTimeoutMillis;
+        synchronized (durableMonitor) {
+            while (durable <= sequence) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    throw new ActivitiesNotDurableException("Timed out waiting for task activities to be persisted");
+                }
+                try {
+                    durableMonitor.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ActivitiesNotDurableException("Interrupted while waiting for task activities to be persisted", e);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+        if (!parkedBatches.isEmpty()) {
+            log.error("Shutting down with {} parked task activity batches not persisted", parkedBatches.size());
+        }
+    }
+
+    private void drain() {
+        long next = 0;
+        List<TaskActivity> batch = new ArrayList<>(maxBatchSize);
+        while (running || publishedSequences.get((int) (next & mask)) == next) {
+            if (!parkedBatches.isEmpty() && System.nanoTime() - lastParkedRetryNanos >= PARKED_RETRY_INTERVAL_NANOS) {
+                retryParkedBatches();
+                lastParkedRetryNanos = System.nanoTime();
+            }
+            int index = (int) (next & mask);
+            while (batch.size() < maxBatchSize && publishedSequences.get(index) == next) {
+                batch.add(slots[index]);
+                slots[index] = null;
+                next++;
+                index = (int) (next & mask);
+            }
+            if (batch.isEmpty()) {
+                writerParked = true;
+                // Re-checked after announcing the park, so a publish in between is never missed
+                if (running && publishedSequences.get(index) != next) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                writerParked = false;
+                continue;
+            }
+            consumed = next;
+            if (!write(batch)) {
+                long first = next - batch.size();
+                log.error("Parking task activities {}..{} for a later retry", first, next - 1);
+                parkedBatches.put(first, new ParkedBatch(next - 1, List.copyOf(batch)));
+            }
+            batch.clear();
+            durable = next;
+            synchronized (durableMonitor) {
+                durableMonitor.notifyAll();
+            }
+        }
+    }
+
+    private boolean write(List<TaskActivity> batch) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                activityRepository.saveAll(batch);
+                return true;
+            } catch (RuntimeException e) {
+                if (attempt == MAX_WRITE_ATTEMPTS) {
+                    log.error("Failed to persist {} task activities after {} attempts", batch.size(), attempt, e);
+                    return false;
+                }
+                log.warn("Failed to persist {} task activities, retrying: {}", batch.size(), e.getMessage());
+                LockSupport.parkNanos(WRITE_RETRY_BACKOFF_NANOS * attempt);
+            }
+        }
+    }
+
+    private record ParkedBatch(long last, List<TaskActivity> activities) {
+    }
+}
@@ -0,0 +1,142 @@
+package com.railse.hiring.workforcemgmt.service.analytics;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.BucketGranularity;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskEvent;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rolling counts of task lifecycle events per minute, hour and day bucket (UTC), broken down by
+ * event, task type and assignee. Counters are bumped as transitions happen, so range queries
+ * read only these buckets and never the tasks. Each granularity keeps its own retention window;
+ * older buckets are dropped as time moves on.
+ */
+@Component
+public class TaskThroughputStore {
+
+    private final Map<BucketGranularity, Series> series = new EnumMap<>(BucketGranularity.class);
+
+    public TaskThroughputStore(TaskRepository taskRepository,
+                               @Value("${task.analytics.minute-retention-hours:48}") long minuteRetentionHours,
+                               @Value("${task.analytics.hour-retention-days:90}") long hourRetentionDays,
+                               @Value("${task.analytics.day-retention-days:730}") long dayRetentionDays) {
+        series.put(BucketGranularity.MINUTE, new Series(BucketGranularity.MINUTE, minuteRetentionHours * 3_600_000L));
+        series.put(BucketGranularity.HOUR, new Series(BucketGranularity.HOUR, hourRetentionDays * 86_400_000L));
+        series.put(BucketGranularity.DAY, new Series(BucketGranularity.DAY, dayRetentionDays * 86_400_000L));
+        taskRepository.findAll().forEach(this::recordHistory);
+    }
+
+    public void record(TaskEvent event, TaskManagement task, long timestamp) {
+        record(event, task, timestamp, System.currentTimeMillis());
+    }
+
+    /**
+     * Counts the event as if the current time were {@code now}, which sets the retention window.
+     */
+    void record(TaskEvent event, TaskManagement task, long timestamp, long now) {
+        SeriesKey key = new SeriesKey(event, task.getTask(), task.getAssigneeId());
+        for (Series granularitySeries : series.values()) {
+            granularitySeries.add(key, timestamp, now);
+        }
+    }
+
+    /**
+     * Counts every transition a task's timestamps show, for tasks that were stored without going through
+     * the service (seed data, bulk imports).
+     */
+    public void recordHistory(TaskManagement task) {
+        if (task.getCreatedAt() != null) {
+            record(TaskEvent.CREATED, task, task.getCreatedAt());
+        }
+        if (task.getStartedAt() != null) {
+            record(TaskEvent.STARTED, task, task.getStartedAt());
+        }
+        if (task.getCompletedAt() != null) {
+            record(TaskEvent.COMPLETED, task, task.getCompletedAt());
+        }
+        if (task.getCancelledAt() != null) {
+            record(TaskEvent.CANCELLED, task, task.getCancelledAt());
+        }
+    }
+
+    /**
+     * Counts per bucket in {@code [from, to)}, for the given events, task types and assignees (null
+     * or empty meaning all). Task type and assignee are summed away unless grouped by. Empty buckets are omitted.
+     */
+    public List<ThroughputBucket> query(BucketGranularity granularity, long from, long to, Set<TaskEvent> events,
+                                        Set<Task> taskTypes, Set<Long> assigneeIds,
+                                        boolean groupByTask, boolean groupByAssignee) {
+        List<ThroughputBucket> result = new ArrayList<>();
+        Series granularitySeries = series.get(granularity);
+        for (Map.Entry<Long, Map<SeriesKey, LongAdder>> bucket
+                : granularitySeries.buckets.subMap(granularity.bucketStart(from), true, to, false).entrySet()) {
+            Map<SeriesKey, Long> counts = new LinkedHashMap<>();
+            for (Map.Entry<SeriesKey, LongAdder> counter : bucket.getValue().entrySet()) {
+                SeriesKey key = counter.getKey();
+                if (matches(events, key.event()) && matches(taskTypes, key.task())
+                        && matches(assigneeIds, key.assigneeId())) {
+                    SeriesKey group = new SeriesKey(key.event(), groupByTask ? key.task() : null,
+                            groupByAssignee ? key.assigneeId() : null);
+                    counts.merge(group, counter.getValue().sum(), Long::sum);
+                }
+            }
+            counts.entrySet().stream()
+                    .filter(count -> count.getValue() > 0)
+                    .sorted(Map.Entry.comparingByKey(SeriesKey.ORDER))
+                    .forEach(count -> result.add(new ThroughputBucket(bucket.getKey(), count.getKey().event(),
+                            count.getKey().task(), count.getKey().assigneeId(), count.getValue())));
+        }
+        return result;
+    }
+
+    private static <T> boolean matches(Set<T> allowed, T value) {
+        return allowed == null || allowed.isEmpty() || allowed.contains(value);
+    }
+
+    private record SeriesKey(TaskEvent event, Task task, Long assigneeId) {
+        private static final Comparator<SeriesKey> ORDER = Comparator
+                .comparing(SeriesKey::event)
+                .thenComparing(SeriesKey::task, Comparator.nullsFirst(Comparator.<Task>naturalOrder()))
+                .thenComparing(SeriesKey::assigneeId, Comparator.nullsFirst(Comparator.<Long>naturalOrder()));
+    }
+
+    private static final class Series {
+        private final BucketGranularity granularity;
+        private final long retentionMillis;
+        // Bucket start -> counter per event, task type and assignee
+        private final ConcurrentSkipListMap<Long, Map<SeriesKey, LongAdder>> buckets = new ConcurrentSkipListMap<>();
+
+        private Series(BucketGranularity granularity, long retentionMillis) {
+            this.granularity = granularity;
+            this.retentionMillis = retentionMillis;
+        }
+
+        private void add(SeriesKey key, long timestamp, long now) {
+            long oldestKept = granularity.bucketStart(now - retentionMillis);
+            long bucketStart = granularity.bucketStart(timestamp);
+            if (bucketStart >= oldestKept) {
+                buckets.computeIfAbsent(bucketStart, start -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(key, k -> new LongAdder())
+                        .increment();
+            }
+            Map.Entry<Long, Map<SeriesKey, LongAdder>> oldest = buckets.firstEntry();
+            if (oldest != null && oldest.getKey() < oldestKept) {
+                buckets.headMap(oldestKept).clear();
+            }
+        }
+    }
+}
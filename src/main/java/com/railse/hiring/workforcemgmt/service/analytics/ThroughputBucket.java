@@ -0,0 +1,11 @@
+package com.railse.hiring.workforcemgmt.service.analytics;
+
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskEvent;
+
+/**
+ * Number of {@code event}s in the bucket starting at {@code bucketStart}; {@code task} and
+ * {@code assigneeId} are null when the query did not group by them.
+ */
+public record ThroughputBucket(long bucketStart, TaskEvent event, Task task, Long assigneeId, long count) {
+}
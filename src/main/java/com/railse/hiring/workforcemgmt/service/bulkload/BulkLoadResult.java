@@ -0,0 +1,9 @@
+package com.railse.hiring.workforcemgmt.service.bulkload;
+
+public record BulkLoadResult(int files, long tasks, long comments, long activities, long rejectedLines,
+                             long skippedTasks, long elapsedMillis) {
+
+    public double tasksPerSecond() {
+        return tasks * 1000.0 / Math.max(elapsedMillis, 1);
+    }
+}
@@ -0,0 +1,116 @@
+package com.railse.hiring.workforcemgmt.service.bulkload;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parses task rows of a CSV file whose header names the columns (snake_case, any order, unknown
+ * columns ignored). Quoted fields may contain commas and doubled quotes but not line breaks, since
+ * files are split into chunks at line boundaries.
+ */
+final class CsvTaskParser {
+
+    private static final List<String> COLUMNS = List.of("id", "reference_id", "reference_type", "task", "assignee_id",
+            "status", "priority", "description", "task_deadline_time", "created_at", "started_at", "completed_at",
+            "cancelled_at");
+
+    // Position of each of COLUMNS in a row, or -1 when the file does not have it
+    private final int[] positions;
+
+    private CsvTaskParser(int[] positions) {
+        this.positions = positions;
+    }
+
+    static CsvTaskParser fromHeader(String header) {
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        List<String> names = split(header);
+        int[] positions = new int[COLUMNS.size()];
+        Arrays.fill(positions, -1);
+        for (int i = 0; i < names.size(); i++) {
+            int column = COLUMNS.indexOf(names.get(i).trim().toLowerCase(Locale.ROOT));
+            if (column >= 0) {
+                positions[column] = i;
+            }
+        }
+        if (positions[0] < 0) {
+            throw new IllegalArgumentException("CSV header has no id column: " + header);
+        }
+        return new CsvTaskParser(positions);
+    }
+
+    TaskImportRecord parse(String line) {
+        List<String> fields = split(line);
+        TaskImportRecord record = new TaskImportRecord();
+        record.setId(longField(fields, 0));
+        record.setReferenceId(longField(fields, 1));
+        String referenceType = field(fields, 2);
+        record.setReferenceType(referenceType != null ? ReferenceType.valueOf(referenceType) : null);
+        String task = field(fields, 3);
+        record.setTask(task != null ? Task.valueOf(task) : null);
+        record.setAssigneeId(longField(fields, 4));
+        String status = field(fields, 5);
+        record.setStatus(status != null ? TaskStatus.valueOf(status) : null);
+        String priority = field(fields, 6);
+        record.setPriority(priority != null ? Priority.valueOf(priority) : null);
+        record.setDescription(field(fields, 7));
+        record.setTaskDeadlineTime(longField(fields, 8));
+        record.setCreatedAt(longField(fields, 9));
+        record.setStartedAt(longField(fields, 10));
+        record.setCompletedAt(longField(fields, 11));
+        record.setCancelledAt(longField(fields, 12));
+        return record;
+    }
+
+    private String field(List<String> fields, int column) {
+        int position = positions[column];
+        if (position < 0 || position >= fields.size() || fields.get(position).isEmpty()) {
+            return null;
+        }
+        return fields.get(position);
+    }
+
+    private Long longField(List<String> fields, int column) {
+        String value = field(fields, column);
+        return value != null ? Long.parseLong(value.trim()) : null;
+    }
+
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
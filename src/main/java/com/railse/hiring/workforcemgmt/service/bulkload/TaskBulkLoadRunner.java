@@ -0,0 +1,48 @@
+package com.railse.hiring.workforcemgmt.service.bulkload;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Seeds the store from the files listed in {@code task.bulk-load.files} (comma separated) when the
+ * application starts.
+ */
+@Component
+public class TaskBulkLoadRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskBulkLoadRunner.class);
+
+    private final TaskBulkLoader bulkLoader;
+    private final List<Path> files;
+
+    public TaskBulkLoadRunner(TaskBulkLoader bulkLoader, @Value("${task.bulk-load.files:}") String files) {
+        this.bulkLoader = bulkLoader;
+        this.files = Arrays.stream(files.split(","))
+                .map(String::trim)
+                .filter(file -> !file.isEmpty())
+                .map(Path::of)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (files.isEmpty()) {
+            return;
+        }
+        BulkLoadResult result = bulkLoader.load(files);
+        log.info("Loaded {} tasks, {} comments and {} activities from {} files in {} ms ({} tasks/s, {} lines rejected, "
+                        + "{} existing tasks skipped); started in {} ms", result.tasks(), result.comments(),
+                result.activities(), result.files(), result.elapsedMillis(), Math.round(result.tasksPerSecond()),
+                result.rejectedLines(), result.skippedTasks(), ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+}
@@ -0,0 +1,390 @@
+package com.railse.hiring.workforcemgmt.service.bulkload;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.railse.hiring.workforcemgmt.common.exception.ServiceOverloadedException;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.repository.ActivityIdAllocator;
+import com.railse.hiring.workforcemgmt.repository.TaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import com.railse.hiring.workforcemgmt.repository.index.TaskBitmapIndex;
+import com.railse.hiring.workforcemgmt.service.analytics.TaskThroughputStore;
+import com.railse.hiring.workforcemgmt.service.dispatch.AssigneeWorkQueues;
+import com.railse.hiring.workforcemgmt.service.search.TaskTextIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Loads tasks with their comments and activities from CSV or NDJSON files ({@code .csv},
+ * {@code .ndjson}, {@code .jsonl}). Each file is cut into chunks at line boundaries; worker threads
+ * memory-map and parse their chunks and hand every parsed batch straight to the store, the
+ * activity store, the text index and the work queues, so nothing is indexed a second time. The
+ * store's commit lock is held only to install a batch; tokenizing, queueing and analytics run
+ * after it, so chunks load in parallel and interactive writes do not wait behind them.
+ * <p>
+ * Every task must carry an id in {@code 1..Integer.MAX_VALUE}, a status, a task type and a
+ * priority. Lines that cannot be parsed or lack one of these are skipped and counted, as are tasks
+ * whose id is already stored.
+ */
+@Component
+public class TaskBulkLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskBulkLoader.class);
+
+    private static final long TARGET_CHUNK_BYTES = 64L << 20;
+    private static final int MAX_LOGGED_REJECTS = 10;
+
+    private final TaskRepository taskRepository;
+    private final TaskActivityRepository activityRepository;
+    private final ActivityIdAllocator activityIdAllocator;
+    private final TaskTextIndex textIndex;
+    private final AssigneeWorkQueues workQueues;
+    private final TaskThroughputStore throughputStore;
+    private final ObjectMapper objectMapper;
+    private final int threads;
+    private final int batchSize;
+    private final Lock loadLock = new ReentrantLock();
+
+    public TaskBulkLoader(TaskRepository taskRepository, TaskActivityRepository activityRepository,
+                          ActivityIdAllocator activityIdAllocator, TaskTextIndex textIndex,
+                          AssigneeWorkQueues workQueues, TaskThroughputStore throughputStore,
+                          ObjectMapper objectMapper,
+                          @Value("${task.bulk-load.threads:0}") int threads,
+                          @Value("${task.bulk-load.batch-size:10000}") int batchSize) {
+        this.taskRepository = taskRepository;
+        this.activityRepository = activityRepository;
+        this.activityIdAllocator = activityIdAllocator;
+        this.textIndex = textIndex;
+        this.workQueues = workQueues;
+        this.throughputStore = throughputStore;
+        this.objectMapper = objectMapper;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.batchSize = batchSize;
+    }
+
+    public BulkLoadResult load(List<Path> files) throws IOException {
+        if (!loadLock.tryLock()) {
+            throw new ServiceOverloadedException("A bulk load is already running");
+        }
+        try {
+            long startNanos = System.nanoTime();
+            Counters counters = new Counters();
+            ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "task-bulk-load");
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                for (Path file : files) {
+                    loadFile(file, workers, counters);
+                }
+            } finally {
+                workers.shutdownNow();
+            }
+            return new BulkLoadResult(files.size(), counters.tasks.sum(), counters.comments.sum(),
+                    counters.activities.sum(), counters.rejected.sum(), counters.skipped.sum(),
+                    (System.nanoTime() - startNanos) / 1_000_000);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private void loadFile(Path file, ExecutorService workers, Counters counters) throws IOException {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long dataStart = 0;
+            LineParser parser;
+            if (name.endsWith(".csv")) {
+                dataStart = lineStart(channel, 1, size);
+                CsvTaskParser csv = CsvTaskParser.fromHeader(readString(channel, 0, dataStart).strip());
+                parser = (line, length) -> csv.parse(new String(line, 0, length, StandardCharsets.UTF_8));
+            } else if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+                parser = (line, length) -> objectMapper.readValue(line, 0, length, TaskImportRecord.class);
+            } else {
+                throw new IllegalArgumentException("Unsupported task file, expected .csv, .ndjson or .jsonl: " + file);
+            }
+
+            long[] boundaries = chunkBoundaries(channel, dataStart, size);
+            List<Future<?>> chunks = new ArrayList<>();
+            for (int i = 0; i + 1 < boundaries.length; i++) {
+                long from = boundaries[i];
+                long to = boundaries[i + 1];
+                chunks.add(workers.submit(() -> {
+                    loadChunk(file, channel, from, to, parser, counters);
+                    return null;
+                }));
+            }
+            awaitAll(chunks);
+        }
+    }
+
+    /**
+     * Splits {@code [dataStart, size)} into roughly equal chunks, each starting at the beginning of a line.
+     */
+    private long[] chunkBoundaries(FileChannel channel, long dataStart, long size) throws IOException {
+        long length = size - dataStart;
+        int chunkCount = (int) Math.max(threads, (length + TARGET_CHUNK_BYTES - 1) / TARGET_CHUNK_BYTES);
+        long[] boundaries = new long[chunkCount + 1];
+        int count = 0;
+        boundaries[count++] = dataStart;
+        for (int i = 1; i < chunkCount; i++) {
+            long boundary = lineStart(channel, dataStart + length * i / chunkCount, size);
+            if (boundary > boundaries[count - 1] && boundary < size) {
+                boundaries[count++] = boundary;
+            }
+        }
+        boundaries[count++] = size;
+        return Arrays.copyOf(boundaries, count);
+    }
+
+    /**
+     * First line start at or after {@code position}: {@code position} itself if a line begins there.
+     */
+    static long lineStart(FileChannel channel, long position, long size) throws IOException {
+        if (position <= 0) {
+            return 0;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long offset = position - 1;
+        while (offset < size) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+        return size;
+    }
+
+    private static String readString(FileChannel channel, long from, long to) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) (to - from));
+        while (buffer.hasRemaining() && channel.read(buffer, from + buffer.position()) > 0) {
+            // keep reading until the range is filled
+        }
+        return new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+    }
+
+    private void loadChunk(Path file, FileChannel channel, long from, long to, LineParser parser,
+                           Counters counters) throws IOException {
+        MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+        byte[] line = new byte[1024];
+        List<TaskImportRecord> batch = new ArrayList<>(batchSize);
+        while (chunk.hasRemaining()) {
+            long lineOffset = from + chunk.position();
+            int length = 0;
+            while (chunk.hasRemaining()) {
+                byte b = chunk.get();
+                if (b == '\n') {
+                    break;
+                }
+                if (length == line.length) {
+                    line = Arrays.copyOf(line, length * 2);
+                }
+                line[length++] = b;
+            }
+            if (length > 0 && line[length - 1] == '\r') {
+                length--;
+            }
+            if (length == 0) {
+                continue;
+            }
+
+            try {
+                TaskImportRecord record = parser.parse(line, length);
+                validate(record);
+                batch.add(record);
+            } catch (IOException | RuntimeException e) {
+                counters.reject(file, lineOffset, e);
+                continue;
+            }
+            if (batch.size() == batchSize) {
+                store(batch, counters);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            store(batch, counters);
+        }
+    }
+
+    private static void validate(TaskImportRecord record) {
+        if (record.getId() == null) {
+            throw new IllegalArgumentException("Task id is required");
+        }
+        if (!TaskBitmapIndex.isDenseId(record.getId())) {
+            throw new IllegalArgumentException("Task id out of range: " + record.getId());
+        }
+        if (record.getStatus() == null) {
+            throw new IllegalArgumentException("Task status is required");
+        }
+        if (record.getTask() == null) {
+            throw new IllegalArgumentException("Task type is required");
+        }
+        if (record.getPriority() == null) {
+            throw new IllegalArgumentException("Task priority is required");
+        }
+    }
+
+    private void store(List<TaskImportRecord> batch, Counters counters) {
+        List<TaskManagement> tasks = new ArrayList<>(batch.size());
+        Map<TaskManagement, TaskImportRecord> records = new IdentityHashMap<>(batch.size());
+        for (TaskImportRecord record : batch) {
+            TaskManagement task = toTask(record);
+            tasks.add(task);
+            records.put(task, record);
+        }
+
+        // Tasks already stored keep their history, so only the stored ones get activities and indexing.
+        // The commit only installs the versions; indexing and queueing happen after it, and skip a task an
+        // update has already moved past the version loaded.
+        List<TaskManagement> stored = taskRepository.bulkLoad(tasks);
+        textIndex.indexTasks(stored);
+        stored.forEach(workQueues::refresh);
+        stored.forEach(throughputStore::recordHistory);
+        List<TaskActivity> activities = new ArrayList<>();
+        long comments = 0;
+        for (TaskManagement task : stored) {
+            comments += task.getComments().size();
+            activities.addAll(toActivities(records.get(task), task));
+        }
+        activityRepository.saveAll(activities);
+
+        counters.tasks.add(stored.size());
+        counters.skipped.add(tasks.size() - stored.size());
+        counters.comments.add(comments);
+        counters.activities.add(activities.size());
+    }
+
+    private static TaskManagement toTask(TaskImportRecord record) {
+        TaskManagement task = new TaskManagement();
+        task.setId(record.getId());
+        task.setReferenceId(record.getReferenceId());
+        task.setReferenceType(record.getReferenceType());
+        task.setTask(record.getTask());
+        task.setDescription(record.getDescription());
+        task.setStatus(record.getStatus());
+        task.setAssigneeId(record.getAssigneeId());
+        task.setTaskDeadlineTime(record.getTaskDeadlineTime());
+        task.setPriority(record.getPriority());
+        task.setCreatedAt(record.getCreatedAt());
+        task.setStartedAt(record.getStartedAt());
+        task.setCompletedAt(record.getCompletedAt());
+        task.setCancelledAt(record.getCancelledAt());
+        if (record.getComments() != null) {
+            for (TaskImportRecord.Comment imported : record.getComments()) {
+                TaskComment comment = new TaskComment(record.getId(), imported.getComment(),
+                        imported.getUserId(), imported.getUserName());
+                comment.setId(imported.getId());
+                if (imported.getTimestamp() != null) {
+                    comment.setTimestamp(imported.getTimestamp());
+                }
+                task.getComments().add(comment);
+            }
+        }
+        return task;
+    }
+
+    /**
+     * The record's activity history with fresh ids, or a creation entry when the file has none.
+     */
+    private List<TaskActivity> toActivities(TaskImportRecord record, TaskManagement task) {
+        List<TaskActivity> activities = new ArrayList<>();
+        if (record.getActivities() == null || record.getActivities().isEmpty()) {
+            TaskActivity creationActivity = new TaskActivity(task.getId(), "Task created", 1L, "System");
+            creationActivity.setId(activityIdAllocator.nextId());
+            if (task.getCreatedAt() != null) {
+                creationActivity.setTimestamp(task.getCreatedAt());
+            }
+            activities.add(creationActivity);
+            return activities;
+        }
+        for (TaskImportRecord.Activity imported : record.getActivities()) {
+            TaskActivity activity = new TaskActivity(task.getId(), imported.getActivity(),
+                    imported.getUserId(), imported.getUserName());
+            activity.setId(activityIdAllocator.nextId());
+            if (imported.getTimestamp() != null) {
+                activity.setTimestamp(imported.getTimestamp());
+            }
+            activities.add(activity);
+        }
+        return activities;
+    }
+
+    private static void awaitAll(List<Future<?>> chunks) throws IOException {
+        try {
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            chunks.forEach(chunk -> chunk.cancel(true));
+            throw new IOException("Interrupted while loading tasks", e);
+        } catch (ExecutionException e) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @FunctionalInterface
+    private interface LineParser {
+        TaskImportRecord parse(byte[] line, int length) throws IOException;
+    }
+
+    private static final class Counters {
+        private final LongAdder tasks = new LongAdder();
+        private final LongAdder comments = new LongAdder();
+        private final LongAdder activities = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private final AtomicInteger logged = new AtomicInteger();
+
+        private void reject(Path file, long offset, Exception cause) {
+            rejected.increment();
+            if (logged.getAndIncrement() < MAX_LOGGED_REJECTS) {
+                log.warn("Skipping malformed task at {} byte {}: {}", file, offset, cause.getMessage());
+            }
+        }
+    }
+}
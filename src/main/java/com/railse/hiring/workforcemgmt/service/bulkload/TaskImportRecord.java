@@ -0,0 +1,53 @@
+package com.railse.hiring.workforcemgmt.service.bulkload;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One task in an import file: an NDJSON line, or a CSV row (which carries no comments or activities).
+ */
+@Data
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class TaskImportRecord {
+    private Long id;
+    private Long referenceId;
+    private ReferenceType referenceType;
+    private Task task;
+    private String description;
+    private TaskStatus status;
+    private Long assigneeId;
+    private Long taskDeadlineTime;
+    private Priority priority;
+    private Long createdAt;
+    private Long startedAt;
+    private Long completedAt;
+    private Long cancelledAt;
+    private List<Comment> comments;
+    private List<Activity> activities;
+
+    @Data
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public static class Comment {
+        private Long id;
+        private String comment;
+        private Long userId;
+        private String userName;
+        private Long timestamp;
+    }
+
+    @Data
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public static class Activity {
+        private String activity;
+        private Long userId;
+        private String userName;
+        private Long timestamp;
+    }
+}
@@ -0,0 +1,137 @@
+package com.railse.hiring.workforcemgmt.service.dispatch;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * One concurrent priority queue of ASSIGNED tasks per assignee, ordered by priority (HIGH first),
+ * then deadline (earliest first, none last), then task id.
+ * <p>
+ * A task handed out by {@link #poll(Long)} stays claimed until a later {@link #refresh(TaskManagement)}
+ * sees it leave ASSIGNED, so concurrent updates to a task that is being dispatched cannot put it
+ * back in the queue and have it handed out twice.
+ * <p>
+ * Refreshes may arrive out of commit order, so each task's slot remembers the version it was last
+ * filed from, and a refresh with an older version is ignored.
+ */
+@Component
+public class AssigneeWorkQueues {
+
+    private static final Comparator<QueueEntry> DISPATCH_ORDER = Comparator
+            .comparing(QueueEntry::priority, Comparator.nullsLast(Comparator.<Priority>reverseOrder()))
+            .thenComparing(QueueEntry::deadline, Comparator.nullsLast(Comparator.<Long>naturalOrder()))
+            .thenComparing(QueueEntry::taskId);
+
+    private final Map<Long, NavigableSet<QueueEntry>> queues = new ConcurrentHashMap<>();
+    private final Map<Long, Slot> slots = new ConcurrentHashMap<>();
+
+    public AssigneeWorkQueues(TaskRepository taskRepository) {
+        taskRepository.findAll().forEach(this::refresh);
+    }
+
+    /**
+     * Re-files a task after it was saved: queues it again if it is still ASSIGNED and removes its old entry.
+     */
+    public void refresh(TaskManagement task) {
+        long version = task.getVersion();
+        slots.compute(task.getId(), (taskId, slot) -> {
+            if (slot != null && slot.version() > version) {
+                return slot;
+            }
+            QueueEntry previous = slot != null && !slot.claimed() ? slot.entry() : null;
+            boolean queueable = task.getStatus() == TaskStatus.ASSIGNED && task.getAssigneeId() != null;
+            Slot next;
+            if (slot != null && slot.claimed()) {
+                next = queueable ? new Slot(slot.entry(), true, version) : new Slot(null, false, version);
+            } else if (!queueable) {
+                next = new Slot(null, false, version);
+            } else {
+                QueueEntry entry = new QueueEntry(taskId, task.getAssigneeId(), task.getPriority(), task.getTaskDeadlineTime());
+                if (entry.equals(previous)) {
+                    return new Slot(previous, false, version);
+                }
+                queueOf(entry.assigneeId()).add(entry);
+                next = new Slot(entry, false, version);
+            }
+            // Removed only once the new entry is queued, so a concurrent poll never finds the queue empty in
+            // between; a poll that took the old entry loses against the new slot and moves on to the new entry
+            if (previous != null) {
+                queueOf(previous.assigneeId()).remove(previous);
+            }
+            return next;
+        });
+    }
+
+    /**
+     * Removes and claims the assignee's next task, or returns empty when nothing is queued.
+     */
+    public Optional<Long> poll(Long assigneeId) {
+        NavigableSet<QueueEntry> queue = queues.get(assigneeId);
+        if (queue == null) {
+            return Optional.empty();
+        }
+        QueueEntry entry;
+        while ((entry = queue.pollFirst()) != null) {
+            QueueEntry polled = entry;
+            Slot current = slots.computeIfPresent(polled.taskId(), (taskId, slot) ->
+                    !slot.claimed() && slot.entry() == polled ? new Slot(polled, true, slot.version()) : slot);
+            // Losing means a concurrent refresh replaced the polled entry; the task stays queued under its new one
+            if (current != null && current.claimed() && current.entry() == polled) {
+                return Optional.of(polled.taskId());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Drops the claim on a task whose dispatch failed, so the next {@link #refresh} can queue it again.
+     */
+    public void release(Long taskId) {
+        slots.computeIfPresent(taskId, (id, slot) -> slot.claimed() ? new Slot(null, false, slot.version()) : slot);
+    }
+
+    public List<Long> peek(Long assigneeId, int limit) {
+        List<Long> taskIds = new ArrayList<>();
+        NavigableSet<QueueEntry> queue = queues.get(assigneeId);
+        if (queue == null) {
+            return taskIds;
+        }
+        Iterator<QueueEntry> entries = queue.iterator();
+        while (taskIds.size() < limit && entries.hasNext()) {
+            taskIds.add(entries.next().taskId());
+        }
+        return taskIds;
+    }
+
+    public int size(Long assigneeId) {
+        NavigableSet<QueueEntry> queue = queues.get(assigneeId);
+        return queue != null ? queue.size() : 0;
+    }
+
+    private NavigableSet<QueueEntry> queueOf(Long assigneeId) {
+        return queues.computeIfAbsent(assigneeId, id -> new ConcurrentSkipListSet<>(DISPATCH_ORDER));
+    }
+
+    private record QueueEntry(Long taskId, Long assigneeId, Priority priority, Long deadline) {
+    }
+
+    /**
+     * Filing state of one task: the entry queued for it, or when claimed the entry it was polled from,
+     * and the version it was last filed from.
+     */
+    private record Slot(QueueEntry entry, boolean claimed, long version) {
+    }
+}
@@ -0,0 +1,117 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.common.exception.BadRequestException;
+import com.railse.hiring.workforcemgmt.common.exception.ResourceNotFoundException;
+import com.railse.hiring.workforcemgmt.common.limiter.EndpointConcurrencyLimits;
+import com.railse.hiring.workforcemgmt.dto.EndpointLimitResponse;
+import com.railse.hiring.workforcemgmt.dto.TaskBulkLoadRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskBulkLoadResponse;
+import com.railse.hiring.workforcemgmt.dto.TaskCacheStatsResponse;
+import com.railse.hiring.workforcemgmt.repository.CachingTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import com.railse.hiring.workforcemgmt.service.TaskAdminService;
+import com.railse.hiring.workforcemgmt.service.bulkload.BulkLoadResult;
+import com.railse.hiring.workforcemgmt.service.bulkload.TaskBulkLoader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+public class TaskAdminServiceImpl implements TaskAdminService {
+
+    private final TaskRepository taskRepository;
+    private final EndpointConcurrencyLimits concurrencyLimits;
+    private final TaskBulkLoader bulkLoader;
+    private final String bulkLoadDirectory;
+
+    public TaskAdminServiceImpl(TaskRepository taskRepository, EndpointConcurrencyLimits concurrencyLimits,
+                                TaskBulkLoader bulkLoader,
+                                @Value("${task.bulk-load.directory:}") String bulkLoadDirectory) {
+        this.taskRepository = taskRepository;
+        this.concurrencyLimits = concurrencyLimits;
+        this.bulkLoader = bulkLoader;
+        this.bulkLoadDirectory = bulkLoadDirectory;
+    }
+
+    @Override
+    public TaskCacheStatsResponse cacheStats() {
+        TaskCacheStatsResponse response = new TaskCacheStatsResponse();
+        if (!(taskRepository instanceof CachingTaskRepository cachingRepository)) {
+            response.setEnabled(false);
+            return response;
+        }
+        CachingTaskRepository.CacheMetrics metrics = cachingRepository.metrics();
+        response.setEnabled(true);
+        response.setSize(metrics.size());
+        response.setMaximumSize(metrics.maximumSize());
+        response.setMaximumBytes(metrics.maximumBytes());
+        response.setHitCount(metrics.hitCount());
+        response.setMissCount(metrics.missCount());
+        response.setNotFoundCount(metrics.notFoundCount());
+        response.setHitRatio(metrics.hitRatio());
+        response.setEvictionCount(metrics.evictionCount());
+        response.setEvictionWeight(metrics.evictionWeight());
+        return response;
+    }
+
+    @Override
+    public List<EndpointLimitResponse> endpointLimits() {
+        return concurrencyLimits.all().entrySet().stream()
+                .map(entry -> new EndpointLimitResponse(entry.getKey(), entry.getValue().getLimit(),
+                        entry.getValue().getInFlight(), entry.getValue().getRejected()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public TaskBulkLoadResponse bulkLoad(TaskBulkLoadRequest request) {
+        if (bulkLoadDirectory.isBlank()) {
+            throw new BadRequestException("Bulk load is disabled: task.bulk-load.directory is not set");
+        }
+        if (request.getFiles() == null || request.getFiles().isEmpty()) {
+            throw new BadRequestException("files must not be empty");
+        }
+        // Only files inside the configured directory may be read
+        Path directory = Path.of(bulkLoadDirectory).toAbsolutePath().normalize();
+        List<Path> files = new ArrayList<>();
+        for (String file : request.getFiles()) {
+            Path path = directory.resolve(file).normalize();
+            if (!path.startsWith(directory)) {
+                throw new BadRequestException("File is outside the bulk load directory: " + file);
+            }
+            if (!Files.isRegularFile(path)) {
+                throw new ResourceNotFoundException("File not found: " + file);
+            }
+            files.add(path);
+        }
+
+        BulkLoadResult result;
+        try {
+            result = bulkLoader.load(files);
+        } catch (NoSuchFileException e) {
+            throw new ResourceNotFoundException("File not found: " + e.getFile());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+
+        TaskBulkLoadResponse response = new TaskBulkLoadResponse();
+        response.setFiles(result.files());
+        response.setTasks(result.tasks());
+        response.setComments(result.comments());
+        response.setActivities(result.activities());
+        response.setRejectedLines(result.rejectedLines());
+        response.setSkippedTasks(result.skippedTasks());
+        response.setElapsedMillis(result.elapsedMillis());
+        response.setTasksPerSecond(result.tasksPerSecond());
+        return response;
+    }
+}
@@ -0,0 +1,97 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.common.exception.ResourceNotFoundException;
+import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.mapper.TaskDtoAssembler;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.TaskEvent;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskUpdate;
+import com.railse.hiring.workforcemgmt.service.TaskDispatchService;
+import com.railse.hiring.workforcemgmt.service.activity.TaskActivityPipeline;
+import com.railse.hiring.workforcemgmt.service.analytics.TaskThroughputStore;
+import com.railse.hiring.workforcemgmt.service.dispatch.AssigneeWorkQueues;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Service
+public class TaskDispatchServiceImpl implements TaskDispatchService {
+
+    private static final int MAX_PEEK = 100;
+
+    private final TaskRepository taskRepository;
+    private final TaskDtoAssembler taskDtoAssembler;
+    private final AssigneeWorkQueues workQueues;
+    private final TaskActivityPipeline activityPipeline;
+    private final TaskThroughputStore throughputStore;
+
+    public TaskDispatchServiceImpl(TaskRepository taskRepository, TaskDtoAssembler taskDtoAssembler,
+                                   AssigneeWorkQueues workQueues, TaskActivityPipeline activityPipeline,
+                                   TaskThroughputStore throughputStore) {
+        this.taskRepository = taskRepository;
+        this.taskDtoAssembler = taskDtoAssembler;
+        this.workQueues = workQueues;
+        this.activityPipeline = activityPipeline;
+        this.throughputStore = throughputStore;
+    }
+
+    @Override
+    public TaskManagementDto dispatchNext(Long assigneeId, boolean awaitActivities) {
+        while (true) {
+            Long taskId = workQueues.poll(assigneeId)
+                    .orElseThrow(() -> new ResourceNotFoundException("No queued task for assignee: " + assigneeId));
+            long now = System.currentTimeMillis();
+            Optional<TaskUpdate> update;
+            try {
+                update = taskRepository.update(taskId, task -> {
+                    // The queue can lag behind the store: only start the task if it is still this assignee's
+                    if (task.getStatus() != TaskStatus.ASSIGNED || !assigneeId.equals(task.getAssigneeId())) {
+                        return null;
+                    }
+                    // Dispatching hands the task to the assignee, so it starts now
+                    task.changeStatus(TaskStatus.STARTED, now);
+                    return task;
+                });
+            } catch (RuntimeException e) {
+                workQueues.release(taskId);
+                taskRepository.findById(taskId).ifPresent(workQueues::refresh);
+                throw e;
+            }
+            if (update.isEmpty()) {
+                workQueues.release(taskId);
+                continue;
+            }
+            if (!update.get().applied()) {
+                // Stale queue entry: re-file the task from its current state
+                workQueues.release(taskId);
+                workQueues.refresh(update.get().before());
+                continue;
+            }
+
+            TaskManagement saved = update.get().after();
+            workQueues.refresh(saved);
+            throughputStore.record(TaskEvent.STARTED, saved, now);
+            TaskActivity dispatchActivity = new TaskActivity(saved.getId(),
+                    "Task dispatched to user " + assigneeId, assigneeId, "Dispatcher");
+            long sequence = activityPipeline.publish(List.of(dispatchActivity));
+            if (awaitActivities) {
+                activityPipeline.awaitDurable(sequence);
+            }
+            return taskDtoAssembler.toDto(saved);
+        }
+    }
+
+    @Override
+    public List<TaskManagementDto> peekQueue(Long assigneeId, int limit) {
+        List<TaskManagement> tasks = workQueues.peek(assigneeId, Math.max(0, Math.min(limit, MAX_PEEK))).stream()
+                .map(taskRepository::findById)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
+        return taskDtoAssembler.toDtoList(tasks);
+    }
+}
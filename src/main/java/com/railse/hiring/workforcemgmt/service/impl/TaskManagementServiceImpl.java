@@ -1,43 +1,97 @@
 package com.railse.hiring.workforcemgmt.service.impl;
 
+import com.railse.hiring.workforcemgmt.common.exception.BadRequestException;
 import com.railse.hiring.workforcemgmt.common.exception.ResourceNotFoundException;
+import com.railse.hiring.workforcemgmt.common.model.enums.SortDirection;
 import com.railse.hiring.workforcemgmt.dto.*;
 import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.mapper.TaskDtoAssembler;
 import com.railse.hiring.workforcemgmt.model.TaskActivity;
 import com.railse.hiring.workforcemgmt.model.TaskComment;
 import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.BucketGranularity;
 import com.railse.hiring.workforcemgmt.model.enums.Priority;
 import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskEvent;
+import com.railse.hiring.workforcemgmt.model.enums.TaskSortField;
 import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
 import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskSnapshot;
+import com.railse.hiring.workforcemgmt.repository.TaskUpdate;
+import com.railse.hiring.workforcemgmt.repository.query.TaskFacetQuery;
+import com.railse.hiring.workforcemgmt.repository.query.TaskQuery;
+import com.railse.hiring.workforcemgmt.repository.query.TaskQueryResult;
 import com.railse.hiring.workforcemgmt.service.TaskManagementService;
+import com.railse.hiring.workforcemgmt.service.activity.TaskActivityPipeline;
+import com.railse.hiring.workforcemgmt.service.analytics.TaskThroughputStore;
+import com.railse.hiring.workforcemgmt.service.analytics.ThroughputBucket;
+import com.railse.hiring.workforcemgmt.service.dispatch.AssigneeWorkQueues;
+import com.railse.hiring.workforcemgmt.service.search.TaskTextIndex;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 @Service
 public class TaskManagementServiceImpl implements TaskManagementService {
 
+    private static final int DEFAULT_QUERY_LIMIT = 100;
+    private static final int MAX_QUERY_LIMIT = 1000;
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_THROUGHPUT_BUCKETS = 10_000;
+    private static final String NEW_TASK_DESCRIPTION = "New task created.";
+    private static final String REFERENCE_TASK_DESCRIPTION = "Task assigned via reference";
+    // Descriptions the service fills in itself; indexing them would only grow a few huge postings
+    private static final Set<String> GENERATED_DESCRIPTIONS = Set.of(NEW_TASK_DESCRIPTION, REFERENCE_TASK_DESCRIPTION);
+
     private final TaskRepository taskRepository;
     private final ITaskManagementMapper taskMapper;
-
-    public TaskManagementServiceImpl(TaskRepository taskRepository, ITaskManagementMapper taskMapper) {
+    private final TaskDtoAssembler taskDtoAssembler;
+    private final AssigneeWorkQueues workQueues;
+    private final TaskActivityPipeline activityPipeline;
+    private final TaskTextIndex textIndex;
+    private final TaskThroughputStore throughputStore;
+    private final int maxBatchSize;
+    private final int maxAssigneeIds;
+
+    public TaskManagementServiceImpl(TaskRepository taskRepository, ITaskManagementMapper taskMapper,
+                                     TaskDtoAssembler taskDtoAssembler, AssigneeWorkQueues workQueues,
+                                     TaskActivityPipeline activityPipeline, TaskTextIndex textIndex,
+                                     TaskThroughputStore throughputStore,
+                                     @Value("${task.request.max-batch-size:500}") int maxBatchSize,
+                                     @Value("${task.request.max-assignee-ids:500}") int maxAssigneeIds) {
         this.taskRepository = taskRepository;
         this.taskMapper = taskMapper;
+        this.taskDtoAssembler = taskDtoAssembler;
+        this.workQueues = workQueues;
+        this.activityPipeline = activityPipeline;
+        this.textIndex = textIndex;
+        this.throughputStore = throughputStore;
+        this.maxBatchSize = maxBatchSize;
+        this.maxAssigneeIds = maxAssigneeIds;
     }
 
     @Override
     public TaskManagementDto findTaskById(Long id) {
         TaskManagement task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
-        return taskMapper.modelToDto(task);
+        return taskDtoAssembler.toDto(task);
     }
 
     @Override
-    public List<TaskManagementDto> createTasks(TaskCreateRequest createRequest) {
+    public List<TaskManagementDto> createTasks(TaskCreateRequest createRequest, boolean awaitActivities) {
+        List<TaskActivity> activities = new ArrayList<>();
+        long lastActivity = -1;
         List<TaskManagement> createdTasks = new ArrayList<>();
+        checkSize("requests", createRequest.getRequests(), maxBatchSize);
         for (TaskCreateRequest.RequestItem item : createRequest.getRequests()) {
             TaskManagement newTask = new TaskManagement();
             newTask.setReferenceId(item.getReferenceId());
@@ -47,48 +101,60 @@ public class TaskManagementServiceImpl implements TaskManagementService {
             newTask.setPriority(item.getPriority());
             newTask.setTaskDeadlineTime(item.getTaskDeadlineTime());
             newTask.setStatus(TaskStatus.ASSIGNED);
-            newTask.setDescription("New task created.");
-            createdTasks.add(taskRepository.save(newTask));
+            newTask.setDescription(NEW_TASK_DESCRIPTION);
+            createdTasks.add(create(newTask, activities));
+            lastActivity = Math.max(lastActivity, publish(activities));
         }
-        return taskMapper.modelListToDtoList(createdTasks);
+        awaitActivities(lastActivity, awaitActivities);
+        return taskDtoAssembler.toDtoList(createdTasks);
     }
 
     @Override
-    public List<TaskManagementDto> updateTasks(UpdateTaskRequest updateRequest) {
+    public List<TaskManagementDto> updateTasks(UpdateTaskRequest updateRequest, boolean awaitActivities) {
+        List<TaskActivity> activities = new ArrayList<>();
+        long lastActivity = -1;
         List<TaskManagement> updatedTasks = new ArrayList<>();
+        checkSize("requests", updateRequest.getRequests(), maxBatchSize);
         for (UpdateTaskRequest.RequestItem item : updateRequest.getRequests()) {
-            TaskManagement task = taskRepository.findById(item.getTaskId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + item.getTaskId()));
+            long now = System.currentTimeMillis();
+            TaskUpdate update = update(item.getTaskId(), task -> {
+                if (item.getTaskStatus() != null) {
+                    // Also stamps startedAt, completedAt or cancelledAt
+                    task.changeStatus(item.getTaskStatus(), now);
+                }
+                if (item.getDescription() != null) {
+                    task.setDescription(item.getDescription());
+                }
+                return task;
+            });
+            TaskManagement saved = update.after();
 
             if (item.getTaskStatus() != null) {
-                TaskStatus oldStatus = task.getStatus();
-                task.setStatus(item.getTaskStatus());
-
                 // Add activity for status change
-                TaskActivity statusActivity = new TaskActivity(task.getId(),
-                        "Status changed from " + oldStatus + " to " + item.getTaskStatus(), 1L, "User");
-                task.getActivities().add(statusActivity);
-
-                // Set startedAt if status is STARTED
-                if (item.getTaskStatus() == TaskStatus.STARTED && task.getStartedAt() == null) {
-                    task.setStartedAt(System.currentTimeMillis());
+                TaskActivity statusActivity = new TaskActivity(saved.getId(),
+                        "Status changed from " + update.before().getStatus() + " to " + item.getTaskStatus(), 1L, "User");
+                activities.add(statusActivity);
+                if (update.before().getStatus() != saved.getStatus()) {
+                    recordTransition(saved, now);
                 }
             }
             if (item.getDescription() != null) {
-                task.setDescription(item.getDescription());
-
                 // Add activity for description change
-                TaskActivity descActivity = new TaskActivity(task.getId(),
+                TaskActivity descActivity = new TaskActivity(saved.getId(),
                         "Description updated", 1L, "User");
-                task.getActivities().add(descActivity);
+                activities.add(descActivity);
             }
-            updatedTasks.add(taskRepository.save(task));
+            lastActivity = Math.max(lastActivity, publish(activities));
+            updatedTasks.add(saved);
         }
-        return taskMapper.modelListToDtoList(updatedTasks);
+        awaitActivities(lastActivity, awaitActivities);
+        return taskDtoAssembler.toDtoList(updatedTasks);
     }
 
     @Override
-    public String assignByReference(AssignByReferenceRequest request) {
+    public String assignByReference(AssignByReferenceRequest request, boolean awaitActivities) {
+        List<TaskActivity> activities = new ArrayList<>();
+        long lastActivity = -1;
         List<Task> applicableTasks = Task.getTasksByReferenceType(request.getReferenceType());
         List<TaskManagement> existingTasks = taskRepository.findByReferenceIdAndReferenceType(
                 request.getReferenceId(), request.getReferenceType());
@@ -112,25 +178,31 @@ public class TaskManagementServiceImpl implements TaskManagementService {
 
                 //solution:
                 TaskManagement taskToAssign = tasksOfType.get(0);
-                taskToAssign.setAssigneeId(request.getAssigneeId());
+                update(taskToAssign.getId(), task -> {
+                    task.setAssigneeId(request.getAssigneeId());
+                    return task;
+                });
 
                 TaskActivity reassignActivity = new TaskActivity(taskToAssign.getId(),
                         "Task reassigned to user " + request.getAssigneeId(), 1L, "Manager");
-                taskToAssign.getActivities().add(reassignActivity);
-
-                taskRepository.save(taskToAssign);
+                activities.add(reassignActivity);
+                lastActivity = Math.max(lastActivity, publish(activities));
 
                 // Cancel all other tasks of the same type
                 for (int i = 1; i < tasksOfType.size(); i++) {
-                    TaskManagement taskToCancel = tasksOfType.get(i);
-                    taskToCancel.setStatus(TaskStatus.CANCELLED);
-
-                    // Add activity for cancellation
-                    TaskActivity cancelActivity = new TaskActivity(taskToCancel.getId(),
-                            "Task cancelled due to reassignment", 1L, "System");
-                    taskToCancel.getActivities().add(cancelActivity);
-
-                    taskRepository.save(taskToCancel);
+                    long now = System.currentTimeMillis();
+                    // Leave tasks alone that were completed since they were looked up
+                    TaskUpdate update = update(tasksOfType.get(i).getId(), task ->
+                            task.getStatus() != TaskStatus.COMPLETED && task.changeStatus(TaskStatus.CANCELLED, now)
+                                    ? task : null);
+                    if (update.applied()) {
+                        // Add activity for cancellation
+                        TaskActivity cancelActivity = new TaskActivity(update.after().getId(),
+                                "Task cancelled due to reassignment", 1L, "System");
+                        activities.add(cancelActivity);
+                        recordTransition(update.after(), now);
+                        lastActivity = Math.max(lastActivity, publish(activities));
+                    }
                 }
             }
             else {
@@ -141,17 +213,20 @@ public class TaskManagementServiceImpl implements TaskManagementService {
                 newTask.setTask(taskType);
                 newTask.setAssigneeId(request.getAssigneeId());
                 newTask.setStatus(TaskStatus.ASSIGNED);
-                newTask.setDescription("Task assigned via reference");
+                newTask.setDescription(REFERENCE_TASK_DESCRIPTION);
                 newTask.setPriority(Priority.MEDIUM); // Default priority
                 newTask.setTaskDeadlineTime(System.currentTimeMillis() + 86400000);
-                taskRepository.save(newTask);
+                create(newTask, activities);
+                lastActivity = Math.max(lastActivity, publish(activities));
             }
         }
+        awaitActivities(lastActivity, awaitActivities);
         return "Tasks assigned successfully for reference " + request.getReferenceId();
     }
 
     @Override
     public List<TaskManagementDto> fetchTasksByDate(TaskFetchByDateRequest request) {
+        checkSize("assignee_ids", request.getAssigneeIds(), maxAssigneeIds);
         List<TaskManagement> tasks = taskRepository.findByAssigneeIdIn(request.getAssigneeIds());
 
         // BUG 2 - It should filter out CANCELLED tasks but doesn't
@@ -199,44 +274,197 @@ public class TaskManagementServiceImpl implements TaskManagementService {
                 })
                 .collect(Collectors.toList());
 
-        return taskMapper.modelListToDtoList(filteredTasks);
+        return taskDtoAssembler.toDtoList(filteredTasks);
     }
 
     @Override
-    public TaskManagementDto updateTaskPriority(UpdatePriorityRequest request) {
-        TaskManagement task = taskRepository.findById(request.getTaskId())
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + request.getTaskId()));
-
-        Priority oldPriority = task.getPriority();
-        task.setPriority(request.getPriority());
+    public TaskManagementDto updateTaskPriority(UpdatePriorityRequest request, boolean awaitActivities) {
+        List<TaskActivity> activities = new ArrayList<>();
+        TaskUpdate update = update(request.getTaskId(), task -> {
+            task.setPriority(request.getPriority());
+            return task;
+        });
 
         // Add activity for priority change
-        TaskActivity priorityActivity = new TaskActivity(task.getId(),
-                "Priority changed from " + oldPriority + " to " + request.getPriority(), 1L, "Manager");
-        task.getActivities().add(priorityActivity);
+        TaskActivity priorityActivity = new TaskActivity(request.getTaskId(),
+                "Priority changed from " + update.before().getPriority() + " to " + request.getPriority(), 1L, "Manager");
+        activities.add(priorityActivity);
 
-        return taskMapper.modelToDto(taskRepository.save(task));
+        awaitActivities(publish(activities), awaitActivities);
+        return taskDtoAssembler.toDto(update.after());
     }
 
     @Override
     public List<TaskManagementDto> findTasksByPriority(Priority priority) {
-        return taskMapper.modelListToDtoList(taskRepository.findByPriority(priority));
+        return taskDtoAssembler.toDtoList(taskRepository.findByPriority(priority));
     }
 
     @Override
-    public TaskManagementDto addComment(AddCommentRequest request) {
-        TaskManagement task = taskRepository.findById(request.getTaskId())
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + request.getTaskId()));
-
+    public TaskManagementDto addComment(AddCommentRequest request, boolean awaitActivities) {
+        List<TaskActivity> activities = new ArrayList<>();
         TaskComment comment = new TaskComment(request.getTaskId(), request.getComment(),
                 request.getUserId(), request.getUserName());
-        task.getComments().add(comment);
+        TaskManagement saved = update(request.getTaskId(), task -> {
+            task.getComments().add(comment);
+            return task;
+        }).after();
 
         // Add activity for comment addition
-        TaskActivity commentActivity = new TaskActivity(task.getId(),
+        TaskActivity commentActivity = new TaskActivity(saved.getId(),
                 "Comment added by " + request.getUserName(), request.getUserId(), request.getUserName());
-        task.getActivities().add(commentActivity);
+        activities.add(commentActivity);
+
+        awaitActivities(publish(activities), awaitActivities);
+        return taskDtoAssembler.toDto(saved);
+    }
+
+    @Override
+    public TaskQueryResponse queryTasks(TaskQueryRequest request) {
+        checkSize("assignee_ids", request.getAssigneeIds(), maxAssigneeIds);
+        TaskQuery query = new TaskQuery();
+        query.setStatuses(toSet(request.getStatuses()));
+        query.setPriorities(toSet(request.getPriorities()));
+        query.setTaskTypes(toSet(request.getTaskTypes()));
+        query.setAssigneeIds(toSet(request.getAssigneeIds()));
+        query.setReferenceId(request.getReferenceId());
+        query.setReferenceType(request.getReferenceType());
+        query.setCreatedAtFrom(request.getCreatedAtFrom());
+        query.setCreatedAtTo(request.getCreatedAtTo());
+        query.setStartedAtFrom(request.getStartedAtFrom());
+        query.setStartedAtTo(request.getStartedAtTo());
+        query.setDeadlineFrom(request.getDeadlineFrom());
+        query.setDeadlineTo(request.getDeadlineTo());
+        query.setSortBy(request.getSortBy() != null ? request.getSortBy() : TaskSortField.ID);
+        query.setSortDirection(request.getSortDirection() != null ? request.getSortDirection() : SortDirection.ASC);
+        query.setLimit(request.getLimit() != null && request.getLimit() > 0
+                ? Math.min(request.getLimit(), MAX_QUERY_LIMIT) : DEFAULT_QUERY_LIMIT);
+
+        TaskQueryResult result = taskRepository.query(query);
+        return new TaskQueryResponse(taskDtoAssembler.toDtoList(result.getTasks()),
+                Boolean.TRUE.equals(request.getExplain()) ? taskMapper.planToDto(result.getPlan()) : null);
+    }
+
+    @Override
+    public TaskFacetResponse countFacets(TaskFacetRequest request) {
+        TaskFacetQuery query = new TaskFacetQuery();
+        query.setStatuses(toSet(request.getStatuses()));
+        query.setPriorities(toSet(request.getPriorities()));
+        query.setTaskTypes(toSet(request.getTaskTypes()));
+        query.setReferenceTypes(toSet(request.getReferenceTypes()));
+        query.setFacets(toSet(request.getFacets()));
+        return taskMapper.facetCountsToDto(taskRepository.countFacets(query));
+    }
+
+    @Override
+    public TaskSearchResponse searchTasks(String query, boolean prefix, Integer limit) {
+        int maxHits = limit != null && limit > 0 ? Math.min(limit, MAX_QUERY_LIMIT) : DEFAULT_SEARCH_LIMIT;
+        TaskTextIndex.SearchHits hits = textIndex.search(query, prefix, maxHits);
+        List<TaskManagement> tasks = hits.taskIds().stream()
+                .map(taskRepository::findById)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
+        return new TaskSearchResponse(hits.totalHits(), taskDtoAssembler.toDtoList(tasks));
+    }
+
+    @Override
+    public TaskExportResponse exportTasks() {
+        try (TaskSnapshot snapshot = taskRepository.openSnapshot()) {
+            return new TaskExportResponse(snapshot.getSequence(), taskDtoAssembler.toDtoList(snapshot.findAll()));
+        }
+    }
+
+    @Override
+    public TaskThroughputResponse taskThroughput(TaskThroughputRequest request) {
+        if (request.getFrom() == null || request.getTo() == null || request.getFrom() >= request.getTo()) {
+            throw new BadRequestException("from and to are required and from must be before to");
+        }
+        checkSize("assignee_ids", request.getAssigneeIds(), maxAssigneeIds);
+        BucketGranularity granularity = request.getGranularity() != null ? request.getGranularity() : BucketGranularity.DAY;
+        long bucketCount = (request.getTo() - granularity.bucketStart(request.getFrom()) + granularity.getMillis() - 1)
+                / granularity.getMillis();
+        if (bucketCount > MAX_THROUGHPUT_BUCKETS) {
+            throw new BadRequestException("Range spans " + bucketCount + " " + granularity + " buckets, at most "
+                    + MAX_THROUGHPUT_BUCKETS + " are allowed");
+        }
+
+        List<ThroughputBucket> buckets = throughputStore.query(granularity, request.getFrom(), request.getTo(),
+                toSet(request.getEvents()), toSet(request.getTaskTypes()), toSet(request.getAssigneeIds()),
+                request.isGroupByTask(), request.isGroupByAssignee());
+        return new TaskThroughputResponse(granularity, request.getFrom(), request.getTo(),
+                taskMapper.bucketListToDtoList(buckets));
+    }
+
+    private TaskManagement create(TaskManagement task, List<TaskActivity> activities) {
+        TaskManagement saved = taskRepository.save(task);
+        workQueues.refresh(saved);
+        textIndex.indexDescription(saved.getId(), saved.getVersion(), indexedDescription(saved.getDescription()));
+        activities.add(new TaskActivity(saved.getId(), "Task created", 1L, "System"));
+        throughputStore.record(TaskEvent.CREATED, saved, saved.getCreatedAt());
+        return saved;
+    }
+
+    /**
+     * Read-modify-write of one task. The work queue and text index are updated after the commit
+     * with the committed version, and skip it if a later update of the task got there first.
+     */
+    private TaskUpdate update(Long taskId, UnaryOperator<TaskManagement> change) {
+        TaskUpdate update = taskRepository.update(taskId, change)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + taskId));
+        if (update.applied()) {
+            workQueues.refresh(update.after());
+            indexText(update.before(), update.after());
+        }
+        return update;
+    }
+
+    private void indexText(TaskManagement before, TaskManagement after) {
+        if (!Objects.equals(before.getDescription(), after.getDescription())) {
+            textIndex.indexDescription(after.getId(), after.getVersion(), indexedDescription(after.getDescription()));
+        }
+        for (TaskComment comment : after.getComments().subList(before.getComments().size(), after.getComments().size())) {
+            textIndex.indexComment(after.getId(), comment.getComment());
+        }
+    }
+
+    /**
+     * The description as the text index holds it: generated descriptions are not indexed.
+     */
+    private static String indexedDescription(String description) {
+        return description != null && GENERATED_DESCRIPTIONS.contains(description) ? null : description;
+    }
+
+    private void recordTransition(TaskManagement task, long timestamp) {
+        TaskEvent event = TaskEvent.of(task.getStatus());
+        if (event != null) {
+            throughputStore.record(event, task, timestamp);
+        }
+    }
+
+    /**
+     * Hands the activities of the task just written to the pipeline and clears the list. Publishing
+     * after every write keeps the history of items already saved when a later item of the request fails.
+     *
+     * @return the pipeline sequence of the last activity, or -1 if there was none
+     */
+    private long publish(List<TaskActivity> activities) {
+        long sequence = activityPipeline.publish(activities);
+        activities.clear();
+        return sequence;
+    }
+
+    private void awaitActivities(long sequence, boolean awaitActivities) {
+        if (awaitActivities) {
+            activityPipeline.awaitDurable(sequence);
+        }
+    }
+
+    private static void checkSize(String field, Collection<?> values, int max) {
+        if (values != null && values.size() > max) {
+            throw new BadRequestException(field + " has " + values.size() + " entries, at most " + max + " are allowed");
+        }
+    }
 
-        return taskMapper.modelToDto(taskRepository.save(task));
+    private static <T> Set<T> toSet(List<T> values) {
+        return values != null ? new HashSet<>(values) : null;
     }
 }
@@ -0,0 +1,211 @@
+package com.railse.hiring.workforcemgmt.service.search;
+
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import com.railse.hiring.workforcemgmt.repository.index.TaskBitmapIndex;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over task descriptions and comments. Each term maps to two bitmaps of task ids,
+ * one for descriptions and one for comments: comments are append-only, while a description update
+ * only has to move the task between description postings.
+ * <p>
+ * Callers index a task after its write has committed, with the committed version. The index
+ * remembers the version and text of the description it holds per task, so a description change
+ * that arrives after a later one is skipped rather than bringing back old terms. Comments are
+ * append-only, so their order does not matter.
+ * <p>
+ * The term dictionary is sorted, so a prefix query is a range scan over it.
+ */
+@Component
+public class TaskTextIndex {
+
+    // Shorter prefixes would OR together the postings of a large part of the dictionary
+    static final int MIN_PREFIX_LENGTH = 3;
+
+    private final NavigableMap<String, Postings> postings = new TreeMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Task id -> the description its description postings were built from
+    private final Map<Long, IndexedDescription> descriptions = new ConcurrentHashMap<>();
+
+    public TaskTextIndex(TaskRepository taskRepository) {
+        indexTasks(taskRepository.findAll());
+    }
+
+    /**
+     * Indexes the description and all comments of tasks not indexed yet. Tokenizing happens before
+     * any lock is taken.
+     */
+    public void indexTasks(Collection<TaskManagement> tasks) {
+        List<TaskTerms> batch = new ArrayList<>(tasks.size());
+        for (TaskManagement task : tasks) {
+            List<Set<String>> commentTerms = new ArrayList<>(task.getComments().size());
+            for (TaskComment comment : task.getComments()) {
+                commentTerms.add(TextTokenizer.indexTerms(comment.getComment()));
+            }
+            batch.add(new TaskTerms(task.getId(), task.getVersion(), task.getDescription(),
+                    TextTokenizer.indexTerms(task.getDescription()), commentTerms));
+        }
+        for (TaskTerms taskTerms : batch) {
+            replaceDescription(taskTerms.taskId(), taskTerms.version(), taskTerms.description(),
+                    taskTerms.descriptionTerms());
+            for (Set<String> terms : taskTerms.comments()) {
+                addComment(taskTerms.taskId(), terms);
+            }
+        }
+    }
+
+    public void indexComment(Long taskId, String comment) {
+        addComment(taskId, TextTokenizer.indexTerms(comment));
+    }
+
+    /**
+     * Moves a task from the terms of the description indexed so far to those of {@code description},
+     * unless a later version of its description has been indexed already.
+     *
+     * @param version the commit version that wrote {@code description}
+     */
+    public void indexDescription(Long taskId, long version, String description) {
+        replaceDescription(taskId, version, description, TextTokenizer.indexTerms(description));
+    }
+
+    private void addComment(Long taskId, Set<String> terms) {
+        if (terms.isEmpty()) {
+            return;
+        }
+        int id = TaskBitmapIndex.denseId(taskId);
+        lock.writeLock().lock();
+        try {
+            for (String term : terms) {
+                postings.computeIfAbsent(term, t -> new Postings()).comments.add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void replaceDescription(Long taskId, long version, String description, Set<String> terms) {
+        int id = TaskBitmapIndex.denseId(taskId);
+        descriptions.compute(taskId, (key, indexed) -> {
+            if (indexed != null && indexed.version() >= version) {
+                return indexed;
+            }
+            Set<String> previous = indexed != null ? TextTokenizer.indexTerms(indexed.description()) : Set.of();
+            if (!previous.isEmpty() || !terms.isEmpty()) {
+                lock.writeLock().lock();
+                try {
+                    movePostings(id, previous, terms);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+            return new IndexedDescription(version, description);
+        });
+    }
+
+    // Callers hold the write lock
+    private void movePostings(int id, Set<String> previous, Set<String> terms) {
+        for (String term : previous) {
+            Postings termPostings = terms.contains(term) ? null : postings.get(term);
+            if (termPostings != null) {
+                termPostings.descriptions.remove(id);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        for (String term : terms) {
+            postings.computeIfAbsent(term, t -> new Postings()).descriptions.add(id);
+        }
+    }
+
+    /**
+     * Finds tasks whose description or comments contain every term of the query. With {@code prefix}
+     * set, the last term matches any indexed term starting with it, once it has at least
+     * {@value #MIN_PREFIX_LENGTH} characters. Newest tasks come first.
+     */
+    public SearchHits search(String query, boolean prefix, int limit) {
+        List<String> terms = TextTokenizer.queryTerms(query);
+        if (terms.isEmpty()) {
+            return new SearchHits(0, List.of());
+        }
+        RoaringBitmap matches = null;
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < terms.size() && (matches == null || !matches.isEmpty()); i++) {
+                String term = terms.get(i);
+                boolean asPrefix = prefix && i == terms.size() - 1 && term.length() >= MIN_PREFIX_LENGTH;
+                RoaringBitmap termMatches = asPrefix ? prefixMatches(term) : exactMatches(term);
+                if (matches == null) {
+                    matches = termMatches;
+                } else {
+                    matches.and(termMatches);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Long> taskIds = new ArrayList<>();
+        IntIterator ids = matches.getReverseIntIterator();
+        while (taskIds.size() < limit && ids.hasNext()) {
+            taskIds.add((long) ids.next());
+        }
+        return new SearchHits(matches.getLongCardinality(), taskIds);
+    }
+
+    private RoaringBitmap exactMatches(String term) {
+        RoaringBitmap result = new RoaringBitmap();
+        Postings termPostings = postings.get(term);
+        if (termPostings != null) {
+            termPostings.addTo(result);
+        }
+        return result;
+    }
+
+    private RoaringBitmap prefixMatches(String prefix) {
+        RoaringBitmap result = new RoaringBitmap();
+        for (Postings termPostings : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            termPostings.addTo(result);
+        }
+        return result;
+    }
+
+    public record SearchHits(long totalHits, List<Long> taskIds) {
+    }
+
+    private record TaskTerms(Long taskId, long version, String description, Set<String> descriptionTerms,
+                             List<Set<String>> comments) {
+    }
+
+    private record IndexedDescription(long version, String description) {
+    }
+
+    private static final class Postings {
+        private final RoaringBitmap descriptions = new RoaringBitmap();
+        private final RoaringBitmap comments = new RoaringBitmap();
+
+        void addTo(RoaringBitmap result) {
+            result.or(descriptions);
+            result.or(comments);
+        }
+
+        boolean isEmpty() {
+            return descriptions.isEmpty() && comments.isEmpty();
+        }
+    }
+}
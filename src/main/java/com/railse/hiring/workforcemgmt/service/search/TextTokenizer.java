@@ -0,0 +1,86 @@
+package com.railse.hiring.workforcemgmt.service.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits free text into lower-case terms. Identifiers such as "INV-2024-001" are kept whole and,
+ * when indexing, also split into their parts, so they can be found by the full id or by a fragment.
+ */
+public final class TextTokenizer {
+
+    static final int MAX_TERM_LENGTH = 64;
+
+    private TextTokenizer() {
+    }
+
+    public static Set<String> indexTerms(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String word : words(text)) {
+            terms.add(word);
+            if (isCompound(word)) {
+                terms.addAll(parts(word));
+            }
+        }
+        return terms;
+    }
+
+    public static List<String> queryTerms(String text) {
+        return new ArrayList<>(new LinkedHashSet<>(words(text)));
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            char c = i < lower.length() ? lower.charAt(i) : ' ';
+            boolean wordChar = Character.isLetterOrDigit(c)
+                    || (start >= 0 && isJoiner(c) && i + 1 < lower.length() && Character.isLetterOrDigit(lower.charAt(i + 1)));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                addWord(words, lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    private static List<String> parts(String word) {
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i <= word.length(); i++) {
+            if (i == word.length() || isJoiner(word.charAt(i))) {
+                addWord(parts, word.substring(start, i));
+                start = i + 1;
+            }
+        }
+        return parts;
+    }
+
+    private static void addWord(List<String> words, String word) {
+        if (!word.isEmpty()) {
+            words.add(word.length() > MAX_TERM_LENGTH ? word.substring(0, MAX_TERM_LENGTH) : word);
+        }
+    }
+
+    private static boolean isCompound(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (isJoiner(word.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isJoiner(char c) {
+        return c == '-' || c == '_' || c == '/' || c == '.';
+    }
+}
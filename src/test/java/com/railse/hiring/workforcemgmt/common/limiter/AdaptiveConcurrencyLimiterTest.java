@@ -0,0 +1,134 @@
+package com.railse.hiring.workforcemgmt.common.limiter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST_NANOS = 100;
+    private static final long SLOW_NANOS = 1_000;
+
+    @Test
+    void growsUpToTheMaximumWhileFastAndUsed() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 10, 2.0, 0.5);
+
+        for (int round = 0; round < 10; round++) {
+            fillAndRelease(limiter, FAST_NANOS);
+        }
+
+        assertEquals(10, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void doesNotGrowWhenMostOfTheLimitIsIdle() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 1, 64, 2.0, 0.5);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(FAST_NANOS);
+        }
+
+        assertEquals(8, limiter.getLimit());
+    }
+
+    @Test
+    void backsOffOnSlowSamplesDownToTheMinimum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(32, 3, 64, 2.0, 0.5);
+        assertTrue(limiter.tryAcquire());
+        limiter.release(FAST_NANOS);
+        assertEquals(32, limiter.getLimit());
+
+        assertTrue(limiter.tryAcquire());
+        limiter.release(SLOW_NANOS);
+        assertEquals(16, limiter.getLimit());
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(SLOW_NANOS);
+            // Back-offs are at least one slow latency apart
+            long start = System.nanoTime();
+            while (System.nanoTime() - start < SLOW_NANOS) {
+                Thread.onSpinWait();
+            }
+        }
+        assertEquals(3, limiter.getLimit());
+    }
+
+    @Test
+    void aBurstOfSlowSamplesBacksOffOnce() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(32, 1, 64, 2.0, 0.5);
+        assertTrue(limiter.tryAcquire());
+        limiter.release(FAST_NANOS);
+
+        long slowNanos = 1_000_000_000L;
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(slowNanos);
+        }
+
+        assertEquals(16, limiter.getLimit());
+    }
+
+    @Test
+    void sustainedSlowSamplesRaiseTheBaselineOnlyGradually() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 64, 2.0, 0.5);
+        assertTrue(limiter.tryAcquire());
+        limiter.release(FAST_NANOS);
+
+        // A thousand overloaded samples still read as congestion, so the limit only goes down
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(SLOW_NANOS);
+            long start = System.nanoTime();
+            while (System.nanoTime() - start < SLOW_NANOS) {
+                Thread.onSpinWait();
+            }
+        }
+        assertEquals(1, limiter.getLimit());
+
+        // If the work stays that slow the baseline catches up and the limit may grow again
+        for (int i = 0; i < 30_000; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(SLOW_NANOS);
+        }
+        assertTrue(limiter.getLimit() > 1);
+    }
+
+    @Test
+    void rejectsAndCountsRequestsOverTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 2, 2.0, 0.5);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.getRejected());
+        assertEquals(2, limiter.getInFlight());
+
+        limiter.release(FAST_NANOS);
+        assertTrue(limiter.tryAcquire());
+        assertEquals(2, limiter.getRejected());
+    }
+
+    @Test
+    void rejectsInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(1, 0, 4, 2.0, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(5, 1, 4, 2.0, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(2, 3, 4, 2.0, 0.5));
+    }
+
+    private static void fillAndRelease(AdaptiveConcurrencyLimiter limiter, long latencyNanos) {
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limiter.release(latencyNanos);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.railse.hiring.workforcemgmt.model;
+
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskManagementTest {
+
+    @Test
+    void recordsTheFirstStartAndEachCompletion() {
+        TaskManagement task = task(TaskStatus.ASSIGNED);
+
+        assertTrue(task.changeStatus(TaskStatus.STARTED, 10));
+        assertTrue(task.changeStatus(TaskStatus.COMPLETED, 20));
+        assertFalse(task.changeStatus(TaskStatus.COMPLETED, 30));
+
+        assertEquals(10L, (long) task.getStartedAt());
+        assertEquals(20L, (long) task.getCompletedAt());
+    }
+
+    @Test
+    void reopeningClearsTheClosingTimestamp() {
+        TaskManagement completed = task(TaskStatus.ASSIGNED);
+        completed.changeStatus(TaskStatus.COMPLETED, 20);
+        completed.changeStatus(TaskStatus.STARTED, 30);
+        assertNull(completed.getCompletedAt());
+        assertEquals(30L, (long) completed.getStartedAt());
+
+        TaskManagement cancelled = task(TaskStatus.ASSIGNED);
+        cancelled.changeStatus(TaskStatus.CANCELLED, 20);
+        cancelled.changeStatus(TaskStatus.COMPLETED, 40);
+        assertNull(cancelled.getCancelledAt());
+        assertEquals(40L, (long) cancelled.getCompletedAt());
+    }
+
+    private static TaskManagement task(TaskStatus status) {
+        TaskManagement task = new TaskManagement();
+        task.setStatus(status);
+        return task;
+    }
+}
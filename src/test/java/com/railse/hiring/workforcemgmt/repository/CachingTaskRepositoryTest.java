@@ -0,0 +1,186 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.query.TaskIdQueryResult;
+import com.railse.hiring.workforcemgmt.repository.query.TaskQuery;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CachingTaskRepositoryTest {
+
+    private static final long ABSENT_ID = 5_000L;
+
+    private final HookedBackend backend = new HookedBackend();
+    private final CachingTaskRepository cache = new CachingTaskRepository(backend, 100, 0, 60_000);
+
+    @Test
+    void cachedMissIsReplacedWhenTheTaskIsCreated() {
+        assertTrue(cache.findById(ABSENT_ID).isEmpty());
+        assertTrue(cache.findById(ABSENT_ID).isEmpty());
+
+        cache.save(task(ABSENT_ID, Priority.LOW));
+
+        assertEquals(Priority.LOW, cache.findById(ABSENT_ID).orElseThrow().getPriority());
+        CachingTaskRepository.CacheMetrics metrics = cache.metrics();
+        assertEquals(1, metrics.missCount());
+        assertEquals(2, metrics.hitCount());
+        assertEquals(2, metrics.notFoundCount());
+    }
+
+    @Test
+    void bulkLoadDropsCachedMisses() {
+        assertTrue(cache.findById(ABSENT_ID).isEmpty());
+
+        List<TaskManagement> stored = cache.bulkLoad(List.of(task(ABSENT_ID, Priority.HIGH)));
+
+        assertEquals(1, stored.size());
+        assertEquals(Priority.HIGH, cache.findById(ABSENT_ID).orElseThrow().getPriority());
+    }
+
+    @Test
+    void anOlderCommitNeverReplacesANewerCachedVersion() {
+        Long id = cache.save(task(null, Priority.LOW)).getId();
+
+        // The second update commits and is cached while the first has committed but not yet been cached
+        backend.afterUpdate = () -> {
+            backend.afterUpdate = null;
+            cache.update(id, setPriority(Priority.HIGH));
+        };
+        cache.update(id, setPriority(Priority.MEDIUM));
+
+        TaskManagement cached = cache.findById(id).orElseThrow();
+        assertEquals(Priority.HIGH, cached.getPriority());
+        assertEquals(backend.findById(id).orElseThrow().getVersion(), cached.getVersion());
+    }
+
+    @Test
+    void findersAndQueriesReturnCurrentVersions() {
+        TaskManagement task = cache.save(task(null, Priority.LOW));
+        cache.findById(task.getId());
+        cache.update(task.getId(), setPriority(Priority.HIGH));
+
+        assertEquals(List.of(Priority.HIGH), priorities(cache.findByPriority(Priority.HIGH)));
+        assertTrue(cache.findByPriority(Priority.LOW).isEmpty());
+        assertEquals(List.of(Priority.HIGH), priorities(cache.findByAssigneeIdIn(List.of(99L))));
+        assertEquals(List.of(Priority.HIGH), priorities(cache.findByReferenceIdAndReferenceType(900L, ReferenceType.ORDER)));
+
+        TaskQuery query = new TaskQuery();
+        query.setPriorities(Set.of(Priority.HIGH));
+        assertEquals(List.of(task.getId()), ids(cache.query(query).getTasks()));
+    }
+
+    @Test
+    void queryLeavesOutTasksThatChangedAfterTheBackendMatchedThem() {
+        Long id = cache.save(task(null, Priority.LOW)).getId();
+        backend.afterQueryIds = () -> {
+            backend.afterQueryIds = null;
+            cache.update(id, setPriority(Priority.HIGH));
+        };
+
+        TaskQuery query = new TaskQuery();
+        query.setPriorities(Set.of(Priority.LOW));
+
+        assertTrue(cache.query(query).getTasks().isEmpty());
+        assertEquals(Priority.HIGH, cache.findById(id).orElseThrow().getPriority());
+    }
+
+    @Test
+    void evictsBeyondTheEntryBound() {
+        CachingTaskRepository bounded = new CachingTaskRepository(backend, 2, 0, 60_000);
+        for (int i = 0; i < 5; i++) {
+            bounded.findById(bounded.save(task(null, Priority.LOW)).getId());
+        }
+        bounded.cleanUp();
+
+        CachingTaskRepository.CacheMetrics metrics = bounded.metrics();
+        assertEquals(2, metrics.size());
+        assertEquals(3, metrics.evictionCount());
+    }
+
+    @Test
+    void evictsBeyondTheByteBound() {
+        CachingTaskRepository bounded = new CachingTaskRepository(backend, 0, 2_000, 60_000);
+        for (int i = 0; i < 5; i++) {
+            TaskManagement task = task(null, Priority.LOW);
+            // Estimated at 256 + 2 * 300 bytes, so only two fit
+            task.setDescription("x".repeat(300));
+            bounded.save(task);
+        }
+        bounded.cleanUp();
+
+        CachingTaskRepository.CacheMetrics metrics = bounded.metrics();
+        assertEquals(2, metrics.size());
+        assertEquals(3, metrics.evictionCount());
+        assertEquals(3 * 856, metrics.evictionWeight());
+    }
+
+    private static UnaryOperator<TaskManagement> setPriority(Priority priority) {
+        return task -> {
+            task.setPriority(priority);
+            return task;
+        };
+    }
+
+    private static List<Priority> priorities(List<TaskManagement> tasks) {
+        return tasks.stream().map(TaskManagement::getPriority).collect(Collectors.toList());
+    }
+
+    private static List<Long> ids(List<TaskManagement> tasks) {
+        return tasks.stream().map(TaskManagement::getId).collect(Collectors.toList());
+    }
+
+    private static TaskManagement task(Long id, Priority priority) {
+        TaskManagement task = new TaskManagement();
+        task.setId(id);
+        task.setReferenceId(900L);
+        task.setReferenceType(ReferenceType.ORDER);
+        task.setTask(Task.CREATE_INVOICE);
+        task.setAssigneeId(99L);
+        task.setStatus(TaskStatus.ASSIGNED);
+        task.setPriority(priority);
+        return task;
+    }
+
+    /**
+     * Runs a hook between a backend call and the cache acting on its result, to stage interleavings.
+     */
+    private static final class HookedBackend extends InMemoryTaskRepository {
+
+        private Runnable afterUpdate;
+        private Runnable afterQueryIds;
+
+        private HookedBackend() {
+            super(false);
+        }
+
+        @Override
+        public Optional<TaskUpdate> update(Long id, UnaryOperator<TaskManagement> change) {
+            Optional<TaskUpdate> update = super.update(id, change);
+            if (afterUpdate != null) {
+                afterUpdate.run();
+            }
+            return update;
+        }
+
+        @Override
+        public TaskIdQueryResult queryIds(TaskQuery query) {
+            TaskIdQueryResult result = super.queryIds(query);
+            if (afterQueryIds != null) {
+                afterQueryIds.run();
+            }
+            return result;
+        }
+    }
+}
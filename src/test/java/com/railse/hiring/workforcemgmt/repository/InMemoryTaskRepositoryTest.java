@@ -0,0 +1,335 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.config.TaskRepositoryConfig;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryTaskRepositoryTest {
+
+    private final InMemoryTaskRepository taskRepository = new InMemoryTaskRepository();
+
+    @Test
+    void trimUnlinksVersionsNoSnapshotCanSee() {
+        TaskVersion first = new TaskVersion(1, new TaskManagement(), null);
+        TaskVersion second = new TaskVersion(2, new TaskManagement(), first);
+        TaskVersion third = new TaskVersion(3, new TaskManagement(), second);
+
+        third.trim(2);
+        assertSame(second, third.visibleAt(2));
+        assertNull(third.visibleAt(1));
+        assertTrue(third.hasHistory());
+
+        third.trim(3);
+        assertSame(third, third.visibleAt(3));
+        assertFalse(third.hasHistory());
+    }
+
+    @Test
+    void snapshotKeepsItsVersionsUntilClosed() {
+        TaskManagement task = save("v1");
+        TaskSnapshot snapshot = taskRepository.openSnapshot();
+
+        taskRepository.update(task.getId(), current -> {
+            current.setDescription("v2");
+            return current;
+        });
+        assertEquals("v1", snapshot.findById(task.getId()).orElseThrow().getDescription());
+        assertEquals("v2", taskRepository.findById(task.getId()).orElseThrow().getDescription());
+        assertEquals(1, taskRepository.versionedTaskCount());
+
+        snapshot.close();
+        assertEquals(0, taskRepository.versionedTaskCount());
+    }
+
+    @Test
+    void updateDoesNotLoseConcurrentChanges() throws Exception {
+        TaskManagement task = save("comments");
+        int writers = 8;
+        int commentsPerWriter = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < commentsPerWriter; i++) {
+                        taskRepository.update(task.getId(), current -> {
+                            current.getComments().add(new TaskComment(current.getId(), "comment", 1L, "User"));
+                            return current;
+                        });
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(writers * commentsPerWriter, taskRepository.findById(task.getId()).orElseThrow().getComments().size());
+    }
+
+    @Test
+    void changeRunsAgainOnTheVersionThatCommittedFirst() {
+        TaskManagement task = save("v1");
+        AtomicInteger runs = new AtomicInteger();
+
+        TaskUpdate update = taskRepository.update(task.getId(), current -> {
+            if (runs.getAndIncrement() == 0) {
+                // Commits while this change is still running
+                taskRepository.update(task.getId(), other -> {
+                    other.setPriority(Priority.HIGH);
+                    return other;
+                });
+            }
+            current.setDescription("v2");
+            return current;
+        }).orElseThrow();
+
+        assertEquals(2, runs.get());
+        assertEquals(Priority.HIGH, update.before().getPriority());
+        TaskManagement stored = taskRepository.findById(task.getId()).orElseThrow();
+        assertEquals("v2", stored.getDescription());
+        assertEquals(Priority.HIGH, stored.getPriority());
+    }
+
+    @Test
+    void aSlowChangeDoesNotHoldUpOtherWritesOrSnapshots() throws Exception {
+        TaskManagement slow = save("slow");
+        TaskManagement other = save("other");
+        CountDownLatch changing = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> slowUpdate = executor.submit(() -> taskRepository.update(slow.getId(), current -> {
+                changing.countDown();
+                try {
+                    finish.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                current.setDescription("slow done");
+                return current;
+            }));
+            assertTrue(changing.await(10, TimeUnit.SECONDS));
+
+            // Would wait for the slow change if it held the commit lock
+            taskRepository.update(other.getId(), current -> {
+                current.setDescription("other done");
+                return current;
+            });
+            TaskSnapshot snapshot = taskRepository.openSnapshot();
+            save("new");
+            snapshot.close();
+            assertEquals(0, taskRepository.versionedTaskCount());
+
+            finish.countDown();
+            slowUpdate.get(10, TimeUnit.SECONDS);
+        } finally {
+            finish.countDown();
+            executor.shutdownNow();
+        }
+
+        assertEquals("slow done", taskRepository.findById(slow.getId()).orElseThrow().getDescription());
+        assertEquals("other done", taskRepository.findById(other.getId()).orElseThrow().getDescription());
+    }
+
+    @Test
+    void snapshotsOpenedDuringCommitsSeeWholeCommits() throws Exception {
+        int pairs = 20_000;
+        AtomicInteger loadedPairs = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            // Each pair of tasks is loaded in one commit, so a snapshot sees both or neither
+            Future<?> writer = executor.submit(() -> {
+                start.await();
+                for (int i = 1; i <= pairs; i++) {
+                    taskRepository.bulkLoad(List.of(task(leftId(i), "left"), task(leftId(i) + 1, "right")));
+                    loadedPairs.set(i);
+                }
+                return null;
+            });
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < 4; r++) {
+                readers.add(executor.submit(() -> {
+                    start.await();
+                    int loaded;
+                    do {
+                        loaded = loadedPairs.get();
+                        try (TaskSnapshot snapshot = taskRepository.openSnapshot()) {
+                            if (loaded > 0) {
+                                assertTrue(snapshot.findById(leftId(loaded) + 1).isPresent());
+                            }
+                            int next = loaded + 1;
+                            assertEquals(snapshot.findById(leftId(next)).isPresent(),
+                                    snapshot.findById(leftId(next) + 1).isPresent());
+                        }
+                    } while (loaded < pairs);
+                    return null;
+                }));
+            }
+            start.countDown();
+            writer.get(60, TimeUnit.SECONDS);
+            for (Future<?> reader : readers) {
+                reader.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, taskRepository.versionedTaskCount());
+    }
+
+    @Test
+    void bulkLoadSkipsIdsAlreadyStoredOrRepeated() {
+        TaskManagement existing = save("existing");
+        TaskManagement clash = task(existing.getId(), "imported");
+        TaskManagement first = task(5000L, "first");
+        TaskManagement repeated = task(5000L, "repeated");
+        TaskManagement unnumbered = task(null, "unnumbered");
+
+        List<TaskManagement> stored = taskRepository.bulkLoad(List.of(clash, first, repeated, unnumbered));
+
+        assertEquals(List.of(first, unnumbered), stored);
+        assertEquals("existing", taskRepository.findById(existing.getId()).orElseThrow().getDescription());
+        assertEquals("first", taskRepository.findById(5000L).orElseThrow().getDescription());
+        assertEquals(5001L, (long) unnumbered.getId());
+        assertNull(clash.getVersion());
+    }
+
+    @Test
+    void bulkLoadRejectsIdsOutsideTheIndexRangeBeforeStoringAnything() {
+        List<TaskManagement> tasks = List.of(task(6000L, "valid"), task(Integer.MAX_VALUE + 1L, "too large"));
+
+        assertThrows(IllegalArgumentException.class, () -> taskRepository.bulkLoad(tasks));
+        assertThrows(IllegalArgumentException.class, () -> taskRepository.bulkLoad(List.of(task(0L, "zero"))));
+        assertTrue(taskRepository.findById(6000L).isEmpty());
+
+        TaskManagement next = save("next");
+        assertEquals(8L, (long) next.getId());
+    }
+
+    @Test
+    void saveRejectsIdsOutsideTheIndexRangeWithoutStoringAnything() {
+        int stored = taskRepository.findAll().size();
+
+        assertThrows(IllegalArgumentException.class, () -> taskRepository.save(task(0L, "zero")));
+        assertThrows(IllegalArgumentException.class, () -> taskRepository.save(task(-5L, "negative")));
+        assertThrows(IllegalArgumentException.class,
+                () -> taskRepository.save(task(Integer.MAX_VALUE + 1L, "too large")));
+
+        assertEquals(stored, taskRepository.findAll().size());
+        TaskManagement next = save("next");
+        assertEquals(next.getDescription(), taskRepository.findById(next.getId()).orElseThrow().getDescription());
+        // No sequence was left half-used by the rejected saves
+        try (TaskSnapshot snapshot = taskRepository.openSnapshot()) {
+            assertEquals(next.getVersion(), snapshot.getSequence());
+        }
+    }
+
+    @Test
+    void newIdsContinueAboveEveryIdLoadedOrSaved() {
+        TaskManagement unnumbered = task(null, "unnumbered");
+
+        List<TaskManagement> stored = taskRepository.bulkLoad(List.of(unnumbered, task(9000L, "numbered")));
+
+        assertEquals(stored.get(0).getVersion(), stored.get(1).getVersion());
+        assertEquals(9001L, (long) unnumbered.getId());
+        assertEquals(9002L, (long) save("next").getId());
+
+        taskRepository.save(task(9500L, "explicit"));
+        assertEquals(9501L, (long) save("after explicit").getId());
+    }
+
+    @Test
+    void concurrentSavesAndBulkLoadsNeverShareAnId() throws Exception {
+        int rounds = 2_000;
+        Set<Long> saved = ConcurrentHashMap.newKeySet();
+        Set<Long> loaded = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> saver = executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < rounds; i++) {
+                    saved.add(save("saved").getId());
+                }
+                return null;
+            });
+            // Each load brings the ids the saver is about to take
+            Future<?> loader = executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < rounds; i++) {
+                    long next = taskRepository.findAll().size() + 1L;
+                    taskRepository.bulkLoad(List.of(task(next, "loaded"), task(next + 1, "loaded")))
+                            .forEach(task -> loaded.add(task.getId()));
+                }
+                return null;
+            });
+            start.countDown();
+            saver.get(60, TimeUnit.SECONDS);
+            loader.get(60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (Long id : loaded) {
+            assertFalse(saved.contains(id));
+            assertEquals("loaded", taskRepository.findById(id).orElseThrow().getDescription());
+        }
+        assertEquals(rounds, saved.size());
+    }
+
+    @Test
+    void doesNotSeedWhenTasksAreImportedAtStartup() {
+        TaskRepositoryConfig config = new TaskRepositoryConfig();
+        assertEquals(7, config.inMemoryTaskRepository("").findAll().size());
+        assertTrue(config.inMemoryTaskRepository("tasks.ndjson").findAll().isEmpty());
+    }
+
+    private static long leftId(int pair) {
+        return 10_000L + 2L * pair;
+    }
+
+    private TaskManagement save(String description) {
+        return taskRepository.save(task(null, description));
+    }
+
+    private static TaskManagement task(Long id, String description) {
+        TaskManagement task = new TaskManagement();
+        task.setId(id);
+        task.setReferenceId(900L);
+        task.setReferenceType(ReferenceType.ORDER);
+        task.setTask(Task.CREATE_INVOICE);
+        task.setAssigneeId(99L);
+        task.setStatus(TaskStatus.ASSIGNED);
+        task.setPriority(Priority.MEDIUM);
+        task.setDescription(description);
+        return task;
+    }
+}
@@ -0,0 +1,94 @@
+package com.railse.hiring.workforcemgmt.repository.index;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskFacet;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TaskBitmapIndexTest {
+
+    private final TaskBitmapIndex index = new TaskBitmapIndex();
+
+    TaskBitmapIndexTest() {
+        add(1, TaskStatus.ASSIGNED, Priority.HIGH, Task.CREATE_INVOICE, ReferenceType.ORDER);
+        add(2, TaskStatus.ASSIGNED, Priority.LOW, Task.CREATE_INVOICE, ReferenceType.ORDER);
+        add(3, TaskStatus.STARTED, Priority.HIGH, Task.ARRANGE_PICKUP, ReferenceType.ORDER);
+        add(4, TaskStatus.COMPLETED, Priority.HIGH, Task.COLLECT_PAYMENT, ReferenceType.ORDER);
+        add(5, TaskStatus.STARTED, Priority.MEDIUM, Task.ASSIGN_CUSTOMER_TO_SALES_PERSON, ReferenceType.ENTITY);
+    }
+
+    @Test
+    void selectOrsValuesWithinAFacetAndAndsAcrossFacets() {
+        assertEquals(List.of(1L, 3L), ids(index.select(TaskBitmapIndex.filter(
+                Set.of(TaskStatus.ASSIGNED, TaskStatus.STARTED), Set.of(Priority.HIGH), null, null))));
+        assertEquals(List.of(5L), ids(index.select(TaskBitmapIndex.filter(
+                Set.of(TaskStatus.STARTED), null, null, Set.of(ReferenceType.ENTITY)))));
+        assertEquals(List.of(), ids(index.select(TaskBitmapIndex.filter(
+                Set.of(TaskStatus.CANCELLED), Set.of(Priority.HIGH), null, null))));
+    }
+
+    @Test
+    void emptyFilterSelectsEveryTaskAndSelectionsAreCopies() {
+        RoaringBitmap selected = index.select(TaskBitmapIndex.filter(null, Set.of(), null, null));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), ids(selected));
+
+        selected.remove(1);
+        RoaringBitmap high = index.select(TaskBitmapIndex.filter(null, Set.of(Priority.HIGH), null, null));
+        high.remove(1);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), ids(index.select(TaskBitmapIndex.filter(null, null, null, null))));
+        assertEquals(List.of(1L, 3L, 4L), ids(index.select(TaskBitmapIndex.filter(null, Set.of(Priority.HIGH), null, null))));
+    }
+
+    @Test
+    void updateMovesATaskBetweenValues() {
+        index.update(2, values(TaskStatus.ASSIGNED, Priority.LOW, Task.CREATE_INVOICE, ReferenceType.ORDER),
+                values(TaskStatus.COMPLETED, Priority.HIGH, Task.CREATE_INVOICE, ReferenceType.ORDER));
+
+        assertEquals(List.of(1L), ids(index.select(TaskBitmapIndex.filter(Set.of(TaskStatus.ASSIGNED), null, null, null))));
+        assertEquals(List.of(2L, 4L), ids(index.select(TaskBitmapIndex.filter(
+                Set.of(TaskStatus.COMPLETED), Set.of(Priority.HIGH), null, null))));
+        assertEquals(List.of(), ids(index.select(TaskBitmapIndex.filter(null, Set.of(Priority.LOW), null, null))));
+    }
+
+    @Test
+    void facetsCountTheFilteredTasksPerValue() {
+        TaskFacetCounts counts = index.facets(TaskBitmapIndex.filter(null, null, null, Set.of(ReferenceType.ORDER)),
+                List.of(TaskFacet.STATUS, TaskFacet.PRIORITY));
+
+        assertEquals(4, counts.getTotal());
+        assertEquals(Map.of("ASSIGNED", 2L, "STARTED", 1L, "COMPLETED", 1L, "CANCELLED", 0L),
+                counts.getFacets().get(TaskFacet.STATUS));
+        assertEquals(Map.of("LOW", 1L, "MEDIUM", 0L, "HIGH", 3L), counts.getFacets().get(TaskFacet.PRIORITY));
+        assertNull(counts.getFacets().get(TaskFacet.TASK));
+    }
+
+    private void add(long taskId, TaskStatus status, Priority priority, Task task, ReferenceType referenceType) {
+        index.update(taskId, null, values(status, priority, task, referenceType));
+    }
+
+    private static Enum<?>[] values(TaskStatus status, Priority priority, Task task, ReferenceType referenceType) {
+        Enum<?>[] values = new Enum<?>[TaskFacet.values().length];
+        values[TaskFacet.STATUS.ordinal()] = status;
+        values[TaskFacet.PRIORITY.ordinal()] = priority;
+        values[TaskFacet.TASK.ordinal()] = task;
+        values[TaskFacet.REFERENCE_TYPE.ordinal()] = referenceType;
+        return values;
+    }
+
+    private static List<Long> ids(RoaringBitmap bitmap) {
+        List<Long> ids = new ArrayList<>();
+        TaskBitmapIndex.ids(bitmap).forEach(ids::add);
+        return ids;
+    }
+}
@@ -0,0 +1,244 @@
+package com.railse.hiring.workforcemgmt.repository.query;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.common.model.enums.SortDirection;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskSortField;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskQueryPlannerTest {
+
+    private static final long FIRST_ID = 1_000;
+    private static final int TASK_COUNT = 400;
+    private static final long CREATED_AT = 1_700_000_000_000L;
+
+    private final TaskRepository taskRepository = new InMemoryTaskRepository();
+    private final List<TaskManagement> tasks = new ArrayList<>();
+
+    TaskQueryPlannerTest() {
+        // Task i: assignee 500 + i % 100, reference 7000 + i % 20, status and priority cycling, created i minutes in
+        for (int i = 0; i < TASK_COUNT; i++) {
+            TaskManagement task = new TaskManagement();
+            task.setId(FIRST_ID + i);
+            task.setReferenceId(7000L + i % 20);
+            task.setReferenceType(ReferenceType.ORDER);
+            task.setTask(Task.CREATE_INVOICE);
+            task.setAssigneeId(500L + i % 100);
+            task.setStatus(TaskStatus.values()[i % 4]);
+            task.setPriority(Priority.values()[i % 3]);
+            task.setCreatedAt(CREATED_AT + i * 60_000L);
+            task.setTaskDeadlineTime(CREATED_AT + i * 60_000L + 86_400_000L);
+            tasks.add(task);
+        }
+        taskRepository.bulkLoad(tasks);
+    }
+
+    @Test
+    void drivesFromTheMostSelectiveIndexAndIntersectsTheRest() {
+        TaskQuery query = new TaskQuery();
+        query.setAssigneeIds(Set.of(501L));
+        query.setStatuses(Set.of(TaskStatus.values()[1]));
+
+        TaskQueryResult result = taskRepository.query(query);
+
+        QueryPlan plan = result.getPlan();
+        assertEquals(QueryPlan.AccessPath.INDEX_SCAN, plan.getAccessPath());
+        assertEquals("assignee_id", plan.getDrivingIndex());
+        assertEquals(List.of("bitmap[status]"), plan.getIntersectedIndexes());
+        assertTrue(plan.getResidualPredicates().isEmpty());
+        // Only the assignee's 4 tasks are looked at, not the 100 with that status
+        assertEquals(4, plan.getExamined());
+        assertEquals(expected(query), ids(result));
+    }
+
+    @Test
+    void bitmapDrivesWhenItIsSmallerThanTheEqualityIndex() {
+        TaskQuery query = new TaskQuery();
+        query.setReferenceId(7003L);
+        query.setReferenceType(ReferenceType.ORDER);
+        query.setStatuses(Set.of(TaskStatus.values()[3]));
+        query.setPriorities(Set.of(Priority.values()[0]));
+
+        TaskQueryResult result = taskRepository.query(query);
+
+        QueryPlan plan = result.getPlan();
+        assertEquals("reference", plan.getDrivingIndex());
+        assertEquals(List.of("bitmap[status, priority]"), plan.getIntersectedIndexes());
+        assertEquals(expected(query), ids(result));
+
+        query.setReferenceId(null);
+        query.setReferenceType(null);
+        query.setAssigneeIds(Set.of(500L, 503L, 506L, 509L, 512L, 515L, 518L, 521L, 524L, 527L, 530L, 533L, 536L, 539L));
+        result = taskRepository.query(query);
+        assertEquals("bitmap[status, priority]", result.getPlan().getDrivingIndex());
+        assertEquals(List.of("assignee_id"), result.getPlan().getIntersectedIndexes());
+        assertEquals(expected(query), ids(result));
+    }
+
+    @Test
+    void predicatesNoIndexCoversAreEvaluatedAsResiduals() {
+        TaskQuery query = new TaskQuery();
+        query.setAssigneeIds(Set.of(507L, 508L));
+        query.setReferenceId(7007L);
+        query.setCreatedAtFrom(CREATED_AT);
+        query.setCreatedAtTo(CREATED_AT + 200 * 60_000L);
+
+        TaskQueryResult result = taskRepository.query(query);
+
+        QueryPlan plan = result.getPlan();
+        assertEquals("assignee_id", plan.getDrivingIndex());
+        assertEquals(List.of("reference_id", "created_at"), plan.getResidualPredicates());
+        assertEquals(expected(query), ids(result));
+        assertEquals(List.of(FIRST_ID + 7, FIRST_ID + 107), ids(result));
+    }
+
+    @Test
+    void orderedScanStopsOnceTheLimitIsFilled() {
+        TaskQuery query = new TaskQuery();
+        query.setReferenceId(7002L);
+        query.setSortBy(TaskSortField.CREATED_AT);
+        query.setSortDirection(SortDirection.ASC);
+        query.setLimit(3);
+
+        TaskQueryResult result = taskRepository.query(query);
+
+        QueryPlan plan = result.getPlan();
+        assertEquals(QueryPlan.AccessPath.ORDERED_INDEX_SCAN, plan.getAccessPath());
+        assertEquals("created_at", plan.getDrivingIndex());
+        assertEquals(List.of(FIRST_ID + 2, FIRST_ID + 22, FIRST_ID + 42), ids(result));
+        // Oldest first, every 20th task matches: the third match is the 43rd task scanned
+        assertEquals(43, plan.getExamined());
+    }
+
+    @Test
+    void bitmapScanStopsAtTheLimitWhenSortedById() {
+        TaskQuery query = new TaskQuery();
+        query.setStatuses(Set.of(TaskStatus.values()[1]));
+        query.setLimit(10);
+
+        TaskQueryResult result = taskRepository.query(query);
+
+        assertEquals("bitmap[status]", result.getPlan().getDrivingIndex());
+        assertEquals(expected(query).subList(0, 10), ids(result));
+        assertEquals(10, result.getPlan().getExamined());
+
+        query.setSortDirection(SortDirection.DESC);
+        result = taskRepository.query(query);
+
+        List<Long> newestFirst = new ArrayList<>(expected(query));
+        Collections.reverse(newestFirst);
+        assertEquals(newestFirst.subList(0, 10), ids(result));
+        assertEquals(10, result.getPlan().getExamined());
+    }
+
+    @Test
+    void keepsOnlyTheBestMatchesWhenTheIndexOrderDiffersFromTheSort() {
+        TaskQuery query = new TaskQuery();
+        query.setStatuses(Set.of(TaskStatus.values()[2]));
+        query.setSortBy(TaskSortField.PRIORITY);
+        query.setSortDirection(SortDirection.DESC);
+        query.setLimit(5);
+
+        TaskQueryResult result = taskRepository.query(query);
+
+        List<Long> expected = tasks.stream()
+                .filter(task -> TaskQueryPlanner.matches(query, task))
+                .sorted(Comparator.comparing(TaskManagement::getPriority, Comparator.reverseOrder())
+                        .thenComparing(TaskManagement::getId))
+                .map(TaskManagement::getId)
+                .limit(5)
+                .collect(Collectors.toList());
+        assertEquals(expected, ids(result));
+        assertEquals(100, result.getPlan().getExamined());
+        assertEquals(100, result.getPlan().getMatched());
+        assertEquals(5, result.getPlan().getReturned());
+    }
+
+    @Test
+    void orderedScanKeepsTiesInIdOrderWhenTheyCrossTheLimit() {
+        // 40 tasks created at the same instant a day before the others, stored out of id order
+        long tiedAt = CREATED_AT - 86_400_000L;
+        List<TaskManagement> tied = new ArrayList<>();
+        for (long id = 5030; id < 5070; id++) {
+            TaskManagement task = new TaskManagement();
+            task.setId(id);
+            task.setTask(Task.CREATE_INVOICE);
+            task.setStatus(TaskStatus.ASSIGNED);
+            task.setPriority(Priority.LOW);
+            task.setCreatedAt(tiedAt);
+            tied.add(task);
+        }
+        Collections.shuffle(tied, new Random(26));
+        taskRepository.bulkLoad(tied);
+
+        TaskQuery query = new TaskQuery();
+        query.setCreatedAtFrom(tiedAt);
+        query.setCreatedAtTo(tiedAt);
+        query.setSortBy(TaskSortField.CREATED_AT);
+        query.setLimit(10);
+        List<Long> lowestIds = List.of(5030L, 5031L, 5032L, 5033L, 5034L, 5035L, 5036L, 5037L, 5038L, 5039L);
+
+        // Ties sort by id ascending in both directions, so either way the ten lowest ids come back
+        for (SortDirection direction : SortDirection.values()) {
+            query.setSortDirection(direction);
+            TaskQueryResult result = taskRepository.query(query);
+
+            assertEquals("created_at", result.getPlan().getDrivingIndex());
+            assertEquals(lowestIds, ids(result));
+            assertEquals(10, result.getPlan().getExamined());
+        }
+    }
+
+    @Test
+    void rangeOnlyEstimatesStopAtAFixedBudget() {
+        List<TaskManagement> older = new ArrayList<>();
+        for (int i = 0; i < 2 * TaskQueryPlanner.RANGE_ESTIMATE_BUDGET; i++) {
+            TaskManagement task = new TaskManagement();
+            task.setId(10_000L + i);
+            task.setTask(Task.CREATE_INVOICE);
+            task.setStatus(TaskStatus.ASSIGNED);
+            task.setPriority(Priority.LOW);
+            task.setCreatedAt(CREATED_AT - (i + 1) * 1_000L);
+            older.add(task);
+        }
+        taskRepository.bulkLoad(older);
+
+        TaskQuery query = new TaskQuery();
+        query.setCreatedAtFrom(0L);
+        query.setLimit(5);
+
+        QueryPlan plan = taskRepository.query(query).getPlan();
+
+        assertEquals("created_at", plan.getDrivingIndex());
+        assertEquals(List.of("created_at (est. >=" + (TaskQueryPlanner.RANGE_ESTIMATE_BUDGET + 1) + ")"),
+                plan.getConsideredIndexes());
+    }
+
+    private List<Long> expected(TaskQuery query) {
+        return tasks.stream()
+                .filter(task -> TaskQueryPlanner.matches(query, task))
+                .map(TaskManagement::getId)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private static List<Long> ids(TaskQueryResult result) {
+        return result.getTasks().stream().map(TaskManagement::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,214 @@
+package com.railse.hiring.workforcemgmt.service.activity;
+
+import com.railse.hiring.workforcemgmt.common.exception.ActivitiesNotDurableException;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.repository.ActivityIdAllocator;
+import com.railse.hiring.workforcemgmt.repository.TaskActivityRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskActivityPipelineTest {
+
+    private final RecordingRepository activityRepository = new RecordingRepository();
+    private final ActivityIdAllocator activityIdAllocator = new ActivityIdAllocator(64);
+
+    @Test
+    void wrapsAroundTheRingWithoutLosingOrReorderingActivities() throws Exception {
+        TaskActivityPipeline pipeline = new TaskActivityPipeline(activityRepository, activityIdAllocator, 8, 3, 5000);
+        try {
+            long last = -1;
+            for (int i = 0; i < 1_000; i++) {
+                last = pipeline.publish(List.of(activity(1L, i), activity(2L, i)));
+            }
+            assertEquals(1_999, last);
+            pipeline.awaitDurable(last);
+
+            assertEquals(numbered(1_000), activityRepository.descriptions(1L));
+            assertEquals(numbered(1_000), activityRepository.descriptions(2L));
+            assertTrue(activityRepository.largestBatch.get() <= 3);
+        } finally {
+            pipeline.close();
+        }
+    }
+
+    @Test
+    void publishersWaitForTheWriterWhenTheRingIsFull() throws Exception {
+        CountDownLatch unblock = new CountDownLatch(1);
+        activityRepository.blockOn = unblock;
+        TaskActivityPipeline pipeline = new TaskActivityPipeline(activityRepository, activityIdAllocator, 4, 1, 5000);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Long> publisher = executor.submit(() -> {
+                long last = -1;
+                for (int i = 0; i < 20; i++) {
+                    last = pipeline.publish(List.of(activity(1L, i)));
+                }
+                return last;
+            });
+            // The writer holds one activity and the ring the next 4, so the publisher cannot finish
+            assertThrows(TimeoutException.class, () -> publisher.get(200, TimeUnit.MILLISECONDS));
+
+            unblock.countDown();
+            long last = publisher.get(5, TimeUnit.SECONDS);
+            pipeline.awaitDurable(last);
+            assertEquals(numbered(20), activityRepository.descriptions(1L));
+        } finally {
+            executor.shutdownNow();
+            pipeline.close();
+        }
+    }
+
+    @Test
+    void concurrentPublishersKeepTheirOwnOrder() throws Exception {
+        TaskActivityPipeline pipeline = new TaskActivityPipeline(activityRepository, activityIdAllocator, 64, 16, 5000);
+        int publishers = 4;
+        int perPublisher = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(publishers);
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int p = 0; p < publishers; p++) {
+                long taskId = p;
+                futures.add(executor.submit(() -> {
+                    long last = -1;
+                    for (int i = 0; i < perPublisher; i++) {
+                        last = pipeline.publish(List.of(activity(taskId, i)));
+                    }
+                    pipeline.awaitDurable(last);
+                    return last;
+                }));
+            }
+            for (Future<Long> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+
+            for (long taskId = 0; taskId < publishers; taskId++) {
+                assertEquals(numbered(perPublisher), activityRepository.descriptions(taskId));
+            }
+        } finally {
+            executor.shutdownNow();
+            pipeline.close();
+        }
+    }
+
+    @Test
+    void awaitDurableReportsBatchesTheRepositoryRejected() throws Exception {
+        activityRepository.failFor = 13L;
+        TaskActivityPipeline pipeline = new TaskActivityPipeline(activityRepository, activityIdAllocator, 16, 4, 5000);
+        try {
+            long failed = pipeline.publish(List.of(activity(13L, 0)));
+            assertThrows(ActivitiesNotDurableException.class, () -> pipeline.awaitDurable(failed));
+
+            long stored = pipeline.publish(List.of(activity(1L, 0)));
+            pipeline.awaitDurable(stored);
+            assertEquals(numbered(1), activityRepository.descriptions(1L));
+            assertFalse(activityRepository.stored.containsKey(13L));
+        } finally {
+            pipeline.close();
+        }
+    }
+
+    @Test
+    void retriesABatchTheRepositoryRejectsOnce() throws Exception {
+        activityRepository.transientFailures.set(1);
+        TaskActivityPipeline pipeline = new TaskActivityPipeline(activityRepository, activityIdAllocator, 16, 4, 5000);
+        try {
+            long last = pipeline.publish(List.of(activity(1L, 0)));
+            pipeline.awaitDurable(last);
+
+            assertEquals(numbered(1), activityRepository.descriptions(1L));
+            assertEquals(0, pipeline.parkedBatchCount());
+        } finally {
+            pipeline.close();
+        }
+    }
+
+    @Test
+    void parkedBatchesStayReportedUntilARetryStoresThem() throws Exception {
+        activityRepository.failFor = 13L;
+        TaskActivityPipeline pipeline = new TaskActivityPipeline(activityRepository, activityIdAllocator, 16, 1, 5000);
+        try {
+            long first = pipeline.publish(List.of(activity(13L, 0)));
+            long second = pipeline.publish(List.of(activity(13L, 1)));
+            assertThrows(ActivitiesNotDurableException.class, () -> pipeline.awaitDurable(second));
+            assertThrows(ActivitiesNotDurableException.class, () -> pipeline.awaitDurable(first));
+            assertEquals(2, pipeline.parkedBatchCount());
+            assertEquals(0, pipeline.retryParkedBatches());
+
+            activityRepository.failFor = null;
+            assertEquals(2, pipeline.retryParkedBatches());
+            pipeline.awaitDurable(second);
+            assertEquals(numbered(2), activityRepository.descriptions(13L));
+            assertEquals(0, pipeline.parkedBatchCount());
+        } finally {
+            pipeline.close();
+        }
+    }
+
+    private static TaskActivity activity(Long taskId, int number) {
+        return new TaskActivity(taskId, String.valueOf(number), 1L, "User");
+    }
+
+    private static List<String> numbered(int count) {
+        List<String> descriptions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            descriptions.add(String.valueOf(i));
+        }
+        return descriptions;
+    }
+
+    private static final class RecordingRepository implements TaskActivityRepository {
+
+        private final Map<Long, List<TaskActivity>> stored = new ConcurrentHashMap<>();
+        private final AtomicInteger largestBatch = new AtomicInteger();
+        private final AtomicInteger transientFailures = new AtomicInteger();
+        private volatile CountDownLatch blockOn;
+        private volatile Long failFor;
+
+        @Override
+        public void saveAll(List<TaskActivity> activities) {
+            CountDownLatch latch = blockOn;
+            if (latch != null) {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (activities.stream().anyMatch(activity -> activity.getTaskId().equals(failFor))) {
+                throw new IllegalStateException("rejected");
+            }
+            if (transientFailures.getAndUpdate(left -> Math.max(left - 1, 0)) > 0) {
+                throw new IllegalStateException("unavailable");
+            }
+            largestBatch.accumulateAndGet(activities.size(), Math::max);
+            for (TaskActivity activity : activities) {
+                stored.computeIfAbsent(activity.getTaskId(), id -> new ArrayList<>()).add(activity);
+            }
+        }
+
+        @Override
+        public List<TaskActivity> findByTaskId(Long taskId) {
+            return stored.getOrDefault(taskId, List.of());
+        }
+
+        private List<String> descriptions(Long taskId) {
+            return findByTaskId(taskId).stream().map(TaskActivity::getActivity).toList();
+        }
+    }
+}
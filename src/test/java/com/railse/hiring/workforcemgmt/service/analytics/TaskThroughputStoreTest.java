@@ -0,0 +1,163 @@
+package com.railse.hiring.workforcemgmt.service.analytics;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.BucketGranularity;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskEvent;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskThroughputStoreTest {
+
+    private static final long NOW = millis("2026-10-19T10:37:42.123Z");
+    private static final long HOUR = 3_600_000L;
+    private static final long DAY = 86_400_000L;
+
+    private final TaskRepository taskRepository = new InMemoryTaskRepository(false);
+    private final TaskThroughputStore store = new TaskThroughputStore(taskRepository, 48, 90, 730);
+
+    @Test
+    void bucketsAlignToUtcMinuteHourAndDay() {
+        TaskManagement task = task(Task.CREATE_INVOICE, 1L);
+        store.record(TaskEvent.CREATED, task, NOW, NOW);
+        store.record(TaskEvent.CREATED, task, NOW + 20_000, NOW);
+
+        assertEquals(List.of(new ThroughputBucket(millis("2026-10-19T10:37:00Z"), TaskEvent.CREATED, null, null, 1),
+                        new ThroughputBucket(millis("2026-10-19T10:38:00Z"), TaskEvent.CREATED, null, null, 1)),
+                query(BucketGranularity.MINUTE));
+        assertEquals(List.of(new ThroughputBucket(millis("2026-10-19T10:00:00Z"), TaskEvent.CREATED, null, null, 2)),
+                query(BucketGranularity.HOUR));
+        assertEquals(List.of(new ThroughputBucket(millis("2026-10-19T00:00:00Z"), TaskEvent.CREATED, null, null, 2)),
+                query(BucketGranularity.DAY));
+    }
+
+    @Test
+    void rangeStartsAtTheBucketContainingFromAndExcludesTo() {
+        TaskManagement task = task(Task.CREATE_INVOICE, 1L);
+        store.record(TaskEvent.STARTED, task, NOW, NOW);
+        store.record(TaskEvent.STARTED, task, NOW + HOUR, NOW);
+
+        List<ThroughputBucket> buckets = store.query(BucketGranularity.HOUR, NOW, millis("2026-10-19T11:00:00Z"),
+                null, null, null, false, false);
+
+        assertEquals(List.of(new ThroughputBucket(millis("2026-10-19T10:00:00Z"), TaskEvent.STARTED, null, null, 1)),
+                buckets);
+    }
+
+    @Test
+    void eventsOlderThanTheRetentionOfAGranularityAreNotCounted() {
+        TaskManagement task = task(Task.CREATE_INVOICE, 1L);
+        store.record(TaskEvent.CREATED, task, NOW - 3 * DAY, NOW);
+        store.record(TaskEvent.COMPLETED, task, NOW - 100 * DAY, NOW);
+
+        assertTrue(query(BucketGranularity.MINUTE).isEmpty());
+        assertEquals(List.of(TaskEvent.CREATED), events(query(BucketGranularity.HOUR)));
+        assertEquals(List.of(TaskEvent.COMPLETED, TaskEvent.CREATED), events(query(BucketGranularity.DAY)));
+    }
+
+    @Test
+    void bucketsAreDroppedOnceTheyFallOutOfTheRetention() {
+        TaskManagement task = task(Task.CREATE_INVOICE, 1L);
+        store.record(TaskEvent.CREATED, task, NOW - HOUR, NOW);
+
+        // Two days later the minute buckets of the first event are past the 48 hour retention
+        long later = NOW + 2 * DAY;
+        store.record(TaskEvent.STARTED, task, later, later);
+
+        assertEquals(List.of(TaskEvent.STARTED), events(query(BucketGranularity.MINUTE)));
+        assertEquals(List.of(TaskEvent.CREATED, TaskEvent.STARTED), events(query(BucketGranularity.HOUR)));
+        assertEquals(List.of(TaskEvent.CREATED, TaskEvent.STARTED), events(query(BucketGranularity.DAY)));
+
+        // And 93 days later the hour buckets of both are past the 90 day retention
+        long muchLater = NOW + 93 * DAY;
+        store.record(TaskEvent.COMPLETED, task, muchLater, muchLater);
+
+        assertEquals(List.of(TaskEvent.COMPLETED), events(query(BucketGranularity.HOUR)));
+        assertEquals(List.of(TaskEvent.CREATED, TaskEvent.STARTED, TaskEvent.COMPLETED),
+                events(query(BucketGranularity.DAY)));
+    }
+
+    @Test
+    void filtersAndGroupsByTaskTypeAndAssignee() {
+        store.record(TaskEvent.COMPLETED, task(Task.CREATE_INVOICE, 1L), NOW, NOW);
+        store.record(TaskEvent.COMPLETED, task(Task.CREATE_INVOICE, 2L), NOW, NOW);
+        store.record(TaskEvent.COMPLETED, task(Task.CREATE_INVOICE, 2L), NOW, NOW);
+        store.record(TaskEvent.COMPLETED, task(Task.ARRANGE_PICKUP, 1L), NOW, NOW);
+        store.record(TaskEvent.CANCELLED, task(Task.ARRANGE_PICKUP, 2L), NOW, NOW);
+        long bucket = millis("2026-10-19T10:00:00Z");
+
+        assertEquals(List.of(new ThroughputBucket(bucket, TaskEvent.COMPLETED, null, null, 4),
+                        new ThroughputBucket(bucket, TaskEvent.CANCELLED, null, null, 1)),
+                store.query(BucketGranularity.HOUR, NOW, NOW + 1, null, null, null, false, false));
+
+        assertEquals(List.of(new ThroughputBucket(bucket, TaskEvent.COMPLETED, Task.CREATE_INVOICE, null, 3)),
+                store.query(BucketGranularity.HOUR, NOW, NOW + 1, Set.of(TaskEvent.COMPLETED),
+                        Set.of(Task.CREATE_INVOICE), null, true, false));
+
+        assertEquals(List.of(new ThroughputBucket(bucket, TaskEvent.COMPLETED, null, 2L, 2),
+                        new ThroughputBucket(bucket, TaskEvent.CANCELLED, null, 2L, 1)),
+                store.query(BucketGranularity.HOUR, NOW, NOW + 1, null, null, Set.of(2L), false, true));
+
+        assertEquals(List.of(new ThroughputBucket(bucket, TaskEvent.COMPLETED, Task.CREATE_INVOICE, 1L, 1),
+                        new ThroughputBucket(bucket, TaskEvent.COMPLETED, Task.CREATE_INVOICE, 2L, 2),
+                        new ThroughputBucket(bucket, TaskEvent.COMPLETED, Task.ARRANGE_PICKUP, 1L, 1)),
+                store.query(BucketGranularity.HOUR, NOW, NOW + 1, Set.of(TaskEvent.COMPLETED), null, null,
+                        true, true));
+    }
+
+    @Test
+    void countsTheHistoryOfTasksAlreadyStored() {
+        long now = System.currentTimeMillis();
+        TaskManagement completed = task(Task.CREATE_INVOICE, 1L);
+        completed.setStatus(TaskStatus.COMPLETED);
+        completed.setCreatedAt(now - 2 * HOUR);
+        completed.setStartedAt(now - HOUR);
+        completed.setCompletedAt(now);
+        TaskManagement cancelled = task(Task.ARRANGE_PICKUP, 2L);
+        cancelled.setStatus(TaskStatus.CANCELLED);
+        cancelled.setCreatedAt(now - 2 * HOUR);
+        cancelled.setCancelledAt(now);
+        taskRepository.bulkLoad(List.of(completed, cancelled));
+
+        TaskThroughputStore loaded = new TaskThroughputStore(taskRepository, 48, 90, 730);
+
+        List<ThroughputBucket> buckets = loaded.query(BucketGranularity.DAY, now - 2 * HOUR, now + 1,
+                null, null, null, false, false);
+        assertEquals(5, buckets.stream().mapToLong(ThroughputBucket::count).sum());
+        assertEquals(Set.of(TaskEvent.CREATED, TaskEvent.STARTED, TaskEvent.COMPLETED, TaskEvent.CANCELLED),
+                Set.copyOf(events(buckets)));
+        assertEquals(2, buckets.stream().filter(bucket -> bucket.event() == TaskEvent.CREATED)
+                .mapToLong(ThroughputBucket::count).sum());
+    }
+
+    private List<ThroughputBucket> query(BucketGranularity granularity) {
+        return store.query(granularity, 0, Long.MAX_VALUE, null, null, null, false, false);
+    }
+
+    private static List<TaskEvent> events(List<ThroughputBucket> buckets) {
+        return buckets.stream().map(ThroughputBucket::event).toList();
+    }
+
+    private static TaskManagement task(Task type, Long assigneeId) {
+        TaskManagement task = new TaskManagement();
+        task.setTask(type);
+        task.setAssigneeId(assigneeId);
+        task.setStatus(TaskStatus.ASSIGNED);
+        task.setPriority(Priority.LOW);
+        return task;
+    }
+
+    private static long millis(String instant) {
+        return Instant.parse(instant).toEpochMilli();
+    }
+}
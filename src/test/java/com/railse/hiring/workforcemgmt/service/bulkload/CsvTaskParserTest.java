@@ -0,0 +1,63 @@
+package com.railse.hiring.workforcemgmt.service.bulkload;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvTaskParserTest {
+
+    @Test
+    void mapsColumnsByHeaderNameInAnyOrder() {
+        CsvTaskParser parser = CsvTaskParser.fromHeader("\uFEFFPriority, notes ,ID,status,task,Assignee_Id");
+
+        TaskImportRecord record = parser.parse("HIGH,ignored,42,ASSIGNED,CREATE_INVOICE,7");
+
+        assertEquals(42L, (long) record.getId());
+        assertEquals(Priority.HIGH, record.getPriority());
+        assertEquals(TaskStatus.ASSIGNED, record.getStatus());
+        assertEquals(Task.CREATE_INVOICE, record.getTask());
+        assertEquals(7L, (long) record.getAssigneeId());
+        assertNull(record.getReferenceType());
+        assertNull(record.getDescription());
+    }
+
+    @Test
+    void emptyFieldsAndMissingTrailingFieldsAreNull() {
+        CsvTaskParser parser = CsvTaskParser.fromHeader("id,reference_id,reference_type,created_at");
+
+        TaskImportRecord record = parser.parse("5,,ORDER");
+
+        assertNull(record.getReferenceId());
+        assertEquals(ReferenceType.ORDER, record.getReferenceType());
+        assertNull(record.getCreatedAt());
+    }
+
+    @Test
+    void quotedFieldsKeepCommasAndDoubledQuotes() {
+        assertEquals(List.of("1", "Call \"Sam\", then ship", "", "x"),
+                CsvTaskParser.split("1,\"Call \"\"Sam\"\", then ship\",,x"));
+        assertEquals(List.of("", ""), CsvTaskParser.split(","));
+        assertThrows(IllegalArgumentException.class, () -> CsvTaskParser.split("1,\"open"));
+    }
+
+    @Test
+    void rejectsHeadersWithoutAnIdColumn() {
+        assertThrows(IllegalArgumentException.class, () -> CsvTaskParser.fromHeader("task,status,priority"));
+    }
+
+    @Test
+    void rejectsValuesThatAreNotNumbersOrKnownConstants() {
+        CsvTaskParser parser = CsvTaskParser.fromHeader("id,status");
+
+        assertThrows(NumberFormatException.class, () -> parser.parse("one,ASSIGNED"));
+        assertThrows(IllegalArgumentException.class, () -> parser.parse("1,DONE"));
+    }
+}
@@ -0,0 +1,190 @@
+package com.railse.hiring.workforcemgmt.service.bulkload;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.BucketGranularity;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.TaskEvent;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.ActivityIdAllocator;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import com.railse.hiring.workforcemgmt.service.analytics.TaskThroughputStore;
+import com.railse.hiring.workforcemgmt.service.analytics.ThroughputBucket;
+import com.railse.hiring.workforcemgmt.service.dispatch.AssigneeWorkQueues;
+import com.railse.hiring.workforcemgmt.service.search.TaskTextIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TaskBulkLoaderTest {
+
+    private final TaskRepository taskRepository = new InMemoryTaskRepository(false);
+    private final ActivityIdAllocator activityIdAllocator = new ActivityIdAllocator(64);
+    private final TaskActivityRepository activityRepository =
+            new InMemoryTaskActivityRepository(taskRepository, activityIdAllocator);
+    private final TaskTextIndex textIndex = new TaskTextIndex(taskRepository);
+    private final AssigneeWorkQueues workQueues = new AssigneeWorkQueues(taskRepository);
+    private final TaskThroughputStore throughputStore = new TaskThroughputStore(taskRepository, 48, 90, 730);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void loadsCsvWithQuotedFieldsAndCrlfLines() throws IOException {
+        Path file = write("tasks.CSV",
+                "id,task,status,priority,assignee_id,description,created_at\r\n"
+                        + "1,CREATE_INVOICE,ASSIGNED,HIGH,7,\"Call \"\"Sam\"\", then ship\",1700000000000\r\n"
+                        + "2,ARRANGE_PICKUP,COMPLETED,LOW,8,Pickup at gate,1700000000000\r\n");
+
+        BulkLoadResult result = loader(2, 10).load(List.of(file));
+
+        assertEquals(2, result.tasks());
+        assertEquals(0, result.rejectedLines());
+        TaskManagement first = taskRepository.findById(1L).orElseThrow();
+        assertEquals("Call \"Sam\", then ship", first.getDescription());
+        assertEquals(Priority.HIGH, first.getPriority());
+        assertEquals(TaskStatus.COMPLETED, taskRepository.findById(2L).orElseThrow().getStatus());
+        assertEquals(List.of(1L), workQueues.peek(7L, 10));
+        assertEquals(List.of(1L), textIndex.search("sam", false, 10).taskIds());
+        List<TaskActivity> activities = activityRepository.findByTaskId(1L);
+        assertEquals(List.of("Task created"), descriptions(activities));
+        assertEquals(1_700_000_000_000L, (long) activities.get(0).getTimestamp());
+    }
+
+    @Test
+    void loadsNdjsonWithEmbeddedCommentsAndActivities() throws IOException {
+        Path file = write("tasks.ndjson", "{\"id\":10,\"task\":\"COLLECT_PAYMENT\",\"status\":\"STARTED\","
+                + "\"priority\":\"MEDIUM\",\"assignee_id\":3,\"created_at\":1000,\"started_at\":2000,"
+                + "\"comments\":[{\"id\":1,\"comment\":\"customer prefers cash\",\"user_id\":5,\"user_name\":\"Asha\","
+                + "\"timestamp\":1500}],"
+                + "\"activities\":[{\"activity\":\"Task created\",\"user_id\":1,\"user_name\":\"System\",\"timestamp\":1000},"
+                + "{\"activity\":\"Task started\",\"user_id\":5,\"user_name\":\"Asha\",\"timestamp\":2000}]}\n");
+
+        BulkLoadResult result = loader(1, 10).load(List.of(file));
+
+        assertEquals(1, result.tasks());
+        assertEquals(1, result.comments());
+        assertEquals(2, result.activities());
+        TaskManagement task = taskRepository.findById(10L).orElseThrow();
+        assertEquals(2000L, (long) task.getStartedAt());
+        assertEquals("customer prefers cash", task.getComments().get(0).getComment());
+        assertEquals(1500L, (long) task.getComments().get(0).getTimestamp());
+        List<TaskActivity> activities = activityRepository.findByTaskId(10L);
+        assertEquals(List.of("Task created", "Task started"), descriptions(activities));
+        assertEquals(2000L, (long) activities.get(1).getTimestamp());
+        assertEquals(List.of(10L), textIndex.search("cash", false, 10).taskIds());
+    }
+
+    @Test
+    void recordsSpanningChunkBoundariesAreLoadedOnce() throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (int i = 1; i <= 500; i++) {
+            lines.append("{\"id\":").append(i).append(",\"task\":\"CREATE_INVOICE\",\"status\":\"ASSIGNED\",")
+                    .append("\"priority\":\"LOW\",\"description\":\"").append("x".repeat(i % 13)).append(i)
+                    .append("\"}\n");
+        }
+        Path file = write("tasks.jsonl", lines.toString());
+
+        BulkLoadResult result = loader(7, 16).load(List.of(file));
+
+        assertEquals(500, result.tasks());
+        assertEquals(0, result.rejectedLines());
+        for (long i = 1; i <= 500; i++) {
+            assertEquals("x".repeat((int) (i % 13)) + i, taskRepository.findById(i).orElseThrow().getDescription());
+        }
+    }
+
+    @Test
+    void lineStartMovesToTheNextLineUnlessALineBeginsThere() throws IOException {
+        Path file = write("lines.csv", "ab\ncd\n\nef");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            assertEquals(0, TaskBulkLoader.lineStart(channel, 0, size));
+            assertEquals(3, TaskBulkLoader.lineStart(channel, 1, size));
+            assertEquals(3, TaskBulkLoader.lineStart(channel, 3, size));
+            assertEquals(6, TaskBulkLoader.lineStart(channel, 4, size));
+            assertEquals(7, TaskBulkLoader.lineStart(channel, 7, size));
+            assertEquals(size, TaskBulkLoader.lineStart(channel, 8, size));
+        }
+    }
+
+    @Test
+    void countsRejectedLinesAndSkippedTasks() throws IOException {
+        String valid = "{\"id\":1,\"task\":\"CREATE_INVOICE\",\"status\":\"ASSIGNED\",\"priority\":\"LOW\"}\n";
+        Path file = write("tasks.ndjson", valid
+                + "{\"task\":\"CREATE_INVOICE\",\"status\":\"ASSIGNED\",\"priority\":\"LOW\"}\n"
+                + "{\"id\":0,\"task\":\"CREATE_INVOICE\",\"status\":\"ASSIGNED\",\"priority\":\"LOW\"}\n"
+                + "{\"id\":2,\"task\":\"CREATE_INVOICE\",\"priority\":\"LOW\"}\n"
+                + "{\"id\":3,\"status\":\"ASSIGNED\",\"priority\":\"LOW\"}\n"
+                + "{\"id\":4,\"task\":\"CREATE_INVOICE\",\"status\":\"ASSIGNED\"}\n"
+                + "{\"id\":5,\"task\":\"CREATE_INVOICE\",\"status\":\"ASSIGNED\",\"priority\":\"URGENT\"}\n"
+                + "not json\n"
+                + "\n"
+                + valid);
+        TaskBulkLoader loader = loader(1, 100);
+
+        BulkLoadResult first = loader.load(List.of(file));
+        assertEquals(1, first.tasks());
+        assertEquals(7, first.rejectedLines());
+        assertEquals(1, first.skippedTasks());
+        assertEquals(List.of(1L), taskRepository.findAll().stream().map(TaskManagement::getId).toList());
+
+        BulkLoadResult second = loader.load(List.of(file));
+        assertEquals(0, second.tasks());
+        assertEquals(2, second.skippedTasks());
+        assertEquals(1, activityRepository.findByTaskId(1L).size());
+    }
+
+    @Test
+    void countsTheHistoryOfLoadedTasksTowardThroughput() throws IOException {
+        long now = System.currentTimeMillis();
+        Path file = write("tasks.csv", "id,task,status,priority,assignee_id,created_at,started_at,completed_at\n"
+                + "1,CREATE_INVOICE,COMPLETED,LOW,7," + (now - 2_000) + "," + (now - 1_000) + "," + now + "\n"
+                + "2,ARRANGE_PICKUP,ASSIGNED,LOW,7," + now + ",,\n");
+
+        loader(1, 10).load(List.of(file));
+
+        List<ThroughputBucket> buckets = throughputStore.query(BucketGranularity.DAY, now - 2_000, now + 1,
+                null, null, Set.of(7L), false, false);
+        Map<TaskEvent, Long> counts = buckets.stream().collect(Collectors.groupingBy(ThroughputBucket::event,
+                Collectors.summingLong(ThroughputBucket::count)));
+        assertEquals(Map.of(TaskEvent.CREATED, 2L, TaskEvent.STARTED, 1L, TaskEvent.COMPLETED, 1L), counts);
+    }
+
+    @Test
+    void rejectsFilesOfOtherTypes() throws IOException {
+        Path file = write("tasks.txt", "id\n1\n");
+
+        assertThrows(IllegalArgumentException.class, () -> loader(1, 10).load(List.of(file)));
+    }
+
+    private TaskBulkLoader loader(int threads, int batchSize) {
+        return new TaskBulkLoader(taskRepository, activityRepository, activityIdAllocator, textIndex, workQueues,
+                throughputStore, new ObjectMapper(), threads, batchSize);
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(directory.resolve(name), content, StandardCharsets.UTF_8);
+    }
+
+    private static List<String> descriptions(List<TaskActivity> activities) {
+        return activities.stream().map(TaskActivity::getActivity).collect(Collectors.toList());
+    }
+}
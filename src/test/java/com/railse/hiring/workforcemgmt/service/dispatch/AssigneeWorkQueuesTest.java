@@ -0,0 +1,194 @@
+package com.railse.hiring.workforcemgmt.service.dispatch;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AssigneeWorkQueuesTest {
+
+    private static final Long ASSIGNEE = 99L;
+
+    private final TaskRepository taskRepository = new InMemoryTaskRepository();
+
+    @Test
+    void ordersByPriorityThenDeadline() {
+        long now = System.currentTimeMillis();
+        TaskManagement lowSoon = save(Priority.LOW, now + 1_000);
+        TaskManagement highLate = save(Priority.HIGH, now + 50_000);
+        TaskManagement highSoon = save(Priority.HIGH, now + 10_000);
+        TaskManagement highNoDeadline = save(Priority.HIGH, null);
+        AssigneeWorkQueues queues = new AssigneeWorkQueues(taskRepository);
+
+        assertEquals(List.of(highSoon.getId(), highLate.getId(), highNoDeadline.getId(), lowSoon.getId()),
+                queues.peek(ASSIGNEE, 10));
+        assertEquals(Optional.of(highSoon.getId()), queues.poll(ASSIGNEE));
+        assertEquals(3, queues.size(ASSIGNEE));
+    }
+
+    @Test
+    void refreshFollowsPriorityChangesReassignmentAndCompletion() {
+        long now = System.currentTimeMillis();
+        TaskManagement first = save(Priority.MEDIUM, now + 1_000);
+        TaskManagement second = save(Priority.LOW, now + 1_000);
+        AssigneeWorkQueues queues = new AssigneeWorkQueues(taskRepository);
+
+        second.setPriority(Priority.HIGH);
+        queues.refresh(taskRepository.save(second));
+        assertEquals(List.of(second.getId(), first.getId()), queues.peek(ASSIGNEE, 10));
+
+        second.setAssigneeId(100L);
+        queues.refresh(taskRepository.save(second));
+        assertEquals(List.of(first.getId()), queues.peek(ASSIGNEE, 10));
+        assertEquals(List.of(second.getId()), queues.peek(100L, 10));
+
+        first.setStatus(TaskStatus.COMPLETED);
+        queues.refresh(taskRepository.save(first));
+        assertEquals(Optional.empty(), queues.poll(ASSIGNEE));
+    }
+
+    @Test
+    void claimedTaskIsNotRequeuedUntilItLeavesAssigned() {
+        TaskManagement task = save(Priority.HIGH, null);
+        AssigneeWorkQueues queues = new AssigneeWorkQueues(taskRepository);
+
+        assertEquals(Optional.of(task.getId()), queues.poll(ASSIGNEE));
+        task.setPriority(Priority.LOW);
+        queues.refresh(taskRepository.save(task));
+        assertEquals(Optional.empty(), queues.poll(ASSIGNEE));
+
+        task.setStatus(TaskStatus.STARTED);
+        queues.refresh(taskRepository.save(task));
+        task.setStatus(TaskStatus.ASSIGNED);
+        queues.refresh(taskRepository.save(task));
+        assertEquals(Optional.of(task.getId()), queues.poll(ASSIGNEE));
+    }
+
+    @Test
+    void refreshWithAnOlderVersionIsIgnored() {
+        TaskManagement assigned = save(Priority.HIGH, null);
+        AssigneeWorkQueues queues = new AssigneeWorkQueues(taskRepository);
+        TaskManagement completed = assigned.copy();
+        completed.setStatus(TaskStatus.COMPLETED);
+        taskRepository.save(completed);
+
+        // The completion is filed before the refresh of the version it replaced arrives
+        queues.refresh(completed);
+        queues.refresh(assigned);
+
+        assertEquals(Optional.empty(), queues.poll(ASSIGNEE));
+    }
+
+    @Test
+    void pollFindsATaskThatIsBeingRefiled() throws Exception {
+        AssigneeWorkQueues queues = new AssigneeWorkQueues(taskRepository);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            for (int round = 0; round < 2_000; round++) {
+                TaskManagement task = save(Priority.LOW, null);
+                queues.refresh(task);
+                CountDownLatch start = new CountDownLatch(1);
+                // Moves the task between priorities, so its entry is replaced while it is polled
+                Future<?> refiler = executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 50; i++) {
+                        task.setPriority(Priority.values()[i % 3]);
+                        queues.refresh(task);
+                    }
+                    return null;
+                });
+                start.countDown();
+                assertEquals(Optional.of(task.getId()), queues.poll(ASSIGNEE));
+                refiler.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentDispatchNeverHandsOutATaskTwice() throws Exception {
+        int taskCount = 5_000;
+        int dispatchers = 8;
+        List<TaskManagement> tasks = new ArrayList<>();
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(save(Priority.values()[i % 3], System.currentTimeMillis() + i));
+        }
+        AssigneeWorkQueues queues = new AssigneeWorkQueues(taskRepository);
+
+        Set<Long> dispatched = ConcurrentHashMap.newKeySet();
+        AtomicInteger handedOut = new AtomicInteger();
+        AtomicBoolean done = new AtomicBoolean();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(dispatchers + 1);
+        try {
+            // Re-prioritize tasks while they are being dispatched
+            Future<?> reprioritizer = executor.submit(() -> {
+                start.await();
+                int i = 0;
+                while (!done.get()) {
+                    TaskManagement task = tasks.get(i++ % taskCount);
+                    task.setPriority(Priority.values()[i % 3]);
+                    queues.refresh(task);
+                }
+                return null;
+            });
+            List<Future<?>> workers = new ArrayList<>();
+            for (int d = 0; d < dispatchers; d++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    Optional<Long> next;
+                    while ((next = queues.poll(ASSIGNEE)).isPresent()) {
+                        handedOut.incrementAndGet();
+                        dispatched.add(next.get());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(30, TimeUnit.SECONDS);
+            }
+            done.set(true);
+            reprioritizer.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(taskCount, handedOut.get());
+        assertEquals(taskCount, dispatched.size());
+        assertTrue(queues.peek(ASSIGNEE, 1).isEmpty());
+    }
+
+    private TaskManagement save(Priority priority, Long deadline) {
+        TaskManagement task = new TaskManagement();
+        task.setReferenceId(900L);
+        task.setReferenceType(ReferenceType.ORDER);
+        task.setTask(Task.CREATE_INVOICE);
+        task.setAssigneeId(ASSIGNEE);
+        task.setStatus(TaskStatus.ASSIGNED);
+        task.setPriority(priority);
+        task.setTaskDeadlineTime(deadline);
+        return taskRepository.save(task);
+    }
+}
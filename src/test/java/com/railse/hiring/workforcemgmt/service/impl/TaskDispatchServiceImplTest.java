@@ -0,0 +1,152 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.common.exception.ResourceNotFoundException;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.mapper.TaskDtoAssembler;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.ActivityIdAllocator;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskUpdate;
+import com.railse.hiring.workforcemgmt.service.activity.TaskActivityPipeline;
+import com.railse.hiring.workforcemgmt.service.analytics.TaskThroughputStore;
+import com.railse.hiring.workforcemgmt.service.dispatch.AssigneeWorkQueues;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskDispatchServiceImplTest {
+
+    private static final Long ASSIGNEE = 99L;
+
+    private final TaskRepository taskRepository = new InMemoryTaskRepository();
+
+    @Test
+    void skipsQueueEntriesTheStoreHasMovedOn() {
+        TaskManagement completed = save(Priority.HIGH);
+        TaskManagement reassigned = save(Priority.HIGH);
+        TaskManagement next = save(Priority.LOW);
+        AssigneeWorkQueues workQueues = new AssigneeWorkQueues(taskRepository);
+        TaskDispatchServiceImpl dispatchService = dispatchService(workQueues);
+
+        // Changed behind the queue's back, as when an update commits before its refresh runs
+        taskRepository.update(completed.getId(), task -> {
+            task.changeStatus(TaskStatus.COMPLETED, System.currentTimeMillis());
+            return task;
+        });
+        taskRepository.update(reassigned.getId(), task -> {
+            task.setAssigneeId(100L);
+            return task;
+        });
+
+        assertEquals(next.getId(), dispatchService.dispatchNext(ASSIGNEE, false).getId());
+        assertEquals(TaskStatus.COMPLETED, taskRepository.findById(completed.getId()).orElseThrow().getStatus());
+        assertEquals(List.of(reassigned.getId()), workQueues.peek(100L, 10));
+        assertThrows(ResourceNotFoundException.class, () -> dispatchService.dispatchNext(ASSIGNEE, false));
+    }
+
+    @Test
+    void concurrentDispatchAndCompletionNeverBothWin() throws Exception {
+        int taskCount = 2_000;
+        int dispatchers = 6;
+        List<Long> taskIds = new ArrayList<>();
+        for (int i = 0; i < taskCount; i++) {
+            taskIds.add(save(Priority.values()[i % 3]).getId());
+        }
+        AssigneeWorkQueues workQueues = new AssigneeWorkQueues(taskRepository);
+        TaskDispatchServiceImpl dispatchService = dispatchService(workQueues);
+
+        Set<Long> dispatched = ConcurrentHashMap.newKeySet();
+        Set<Long> completed = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(dispatchers + 1);
+        try {
+            // Completes tasks that are still waiting, racing the dispatchers for them
+            Future<?> completer = executor.submit(() -> {
+                start.await();
+                for (int i = taskIds.size() - 1; i >= 0; i--) {
+                    Long taskId = taskIds.get(i);
+                    taskRepository.update(taskId, task -> {
+                        if (task.getStatus() != TaskStatus.ASSIGNED) {
+                            return null;
+                        }
+                        task.changeStatus(TaskStatus.COMPLETED, System.currentTimeMillis());
+                        return task;
+                    }).filter(TaskUpdate::applied).ifPresent(update -> {
+                        workQueues.refresh(update.after());
+                        completed.add(taskId);
+                    });
+                }
+                return null;
+            });
+            List<Future<?>> workers = new ArrayList<>();
+            for (int d = 0; d < dispatchers; d++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    while (true) {
+                        try {
+                            assertTrue(dispatched.add(dispatchService.dispatchNext(ASSIGNEE, false).getId()));
+                        } catch (ResourceNotFoundException e) {
+                            return null;
+                        }
+                    }
+                }));
+            }
+            start.countDown();
+            completer.get(30, TimeUnit.SECONDS);
+            for (Future<?> worker : workers) {
+                worker.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(taskCount, dispatched.size() + completed.size());
+        for (Long taskId : dispatched) {
+            assertFalse(completed.contains(taskId));
+            assertEquals(TaskStatus.STARTED, taskRepository.findById(taskId).orElseThrow().getStatus());
+        }
+    }
+
+    private TaskDispatchServiceImpl dispatchService(AssigneeWorkQueues workQueues) {
+        ActivityIdAllocator activityIdAllocator = new ActivityIdAllocator(1024);
+        TaskActivityRepository activityRepository = new InMemoryTaskActivityRepository(taskRepository, activityIdAllocator);
+        TaskActivityPipeline activityPipeline = new TaskActivityPipeline(activityRepository, activityIdAllocator,
+                1024, 256, 5000);
+        TaskDtoAssembler taskDtoAssembler = new TaskDtoAssembler(Mappers.getMapper(ITaskManagementMapper.class),
+                activityRepository);
+        return new TaskDispatchServiceImpl(taskRepository, taskDtoAssembler, workQueues, activityPipeline,
+                new TaskThroughputStore(taskRepository, 48, 90, 730));
+    }
+
+    private TaskManagement save(Priority priority) {
+        TaskManagement task = new TaskManagement();
+        task.setReferenceId(900L);
+        task.setReferenceType(ReferenceType.ORDER);
+        task.setTask(Task.CREATE_INVOICE);
+        task.setAssigneeId(ASSIGNEE);
+        task.setStatus(TaskStatus.ASSIGNED);
+        task.setPriority(priority);
+        return taskRepository.save(task);
+    }
+}
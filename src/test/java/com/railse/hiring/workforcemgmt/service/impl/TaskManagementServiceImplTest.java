@@ -0,0 +1,107 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.dto.TaskCreateRequest;
+import com.railse.hiring.workforcemgmt.dto.UpdateTaskRequest;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.mapper.TaskDtoAssembler;
+import com.railse.hiring.workforcemgmt.model.enums.BucketGranularity;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskEvent;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.ActivityIdAllocator;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import com.railse.hiring.workforcemgmt.service.activity.TaskActivityPipeline;
+import com.railse.hiring.workforcemgmt.service.analytics.TaskThroughputStore;
+import com.railse.hiring.workforcemgmt.service.analytics.ThroughputBucket;
+import com.railse.hiring.workforcemgmt.service.dispatch.AssigneeWorkQueues;
+import com.railse.hiring.workforcemgmt.service.search.TaskTextIndex;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskManagementServiceImplTest {
+
+    private static final Long ASSIGNEE = 99L;
+
+    private final TaskRepository taskRepository = new InMemoryTaskRepository();
+    private final AssigneeWorkQueues workQueues = new AssigneeWorkQueues(taskRepository);
+    private final TaskTextIndex textIndex = new TaskTextIndex(taskRepository);
+    private final TaskThroughputStore throughputStore = new TaskThroughputStore(taskRepository, 48, 90, 730);
+    private final TaskManagementServiceImpl taskService = taskService();
+
+    @Test
+    void createdTasksAreQueuedButTheirGeneratedDescriptionIsNotIndexed() {
+        Long id = create();
+
+        assertEquals(List.of(id), workQueues.peek(ASSIGNEE, 10));
+        assertEquals(0, textIndex.search("created", false, 10).totalHits());
+
+        update(id, null, "Replace the broken scanner");
+        assertEquals(List.of(id), textIndex.search("scanner", false, 10).taskIds());
+        assertEquals(0, textIndex.search("created", false, 10).totalHits());
+    }
+
+    @Test
+    void recordsATransitionOnlyWhenTheStatusChanges() {
+        Long id = create();
+
+        update(id, TaskStatus.STARTED, null);
+        update(id, TaskStatus.STARTED, null);
+        update(id, null, "Waiting on the customer");
+        assertEquals(Map.of(TaskEvent.CREATED, 1L, TaskEvent.STARTED, 1L), eventCounts());
+
+        update(id, TaskStatus.COMPLETED, null);
+        update(id, TaskStatus.COMPLETED, null);
+        assertEquals(Map.of(TaskEvent.CREATED, 1L, TaskEvent.STARTED, 1L, TaskEvent.COMPLETED, 1L), eventCounts());
+    }
+
+    private Map<TaskEvent, Long> eventCounts() {
+        long now = System.currentTimeMillis();
+        return throughputStore.query(BucketGranularity.DAY, now - 86_400_000L, now + 1, null, null, Set.of(ASSIGNEE),
+                        false, false).stream()
+                .collect(Collectors.groupingBy(ThroughputBucket::event, Collectors.summingLong(ThroughputBucket::count)));
+    }
+
+    private Long create() {
+        TaskCreateRequest.RequestItem item = new TaskCreateRequest.RequestItem();
+        item.setReferenceId(900L);
+        item.setReferenceType(ReferenceType.ORDER);
+        item.setTask(Task.CREATE_INVOICE);
+        item.setAssigneeId(ASSIGNEE);
+        item.setPriority(Priority.MEDIUM);
+        TaskCreateRequest request = new TaskCreateRequest();
+        request.setRequests(List.of(item));
+        return taskService.createTasks(request, true).get(0).getId();
+    }
+
+    private void update(Long taskId, TaskStatus status, String description) {
+        UpdateTaskRequest.RequestItem item = new UpdateTaskRequest.RequestItem();
+        item.setTaskId(taskId);
+        item.setTaskStatus(status);
+        item.setDescription(description);
+        UpdateTaskRequest request = new UpdateTaskRequest();
+        request.setRequests(List.of(item));
+        assertEquals(1, taskService.updateTasks(request, true).size());
+    }
+
+    private TaskManagementServiceImpl taskService() {
+        ActivityIdAllocator activityIdAllocator = new ActivityIdAllocator(1024);
+        TaskActivityRepository activityRepository = new InMemoryTaskActivityRepository(taskRepository, activityIdAllocator);
+        TaskActivityPipeline activityPipeline = new TaskActivityPipeline(activityRepository, activityIdAllocator,
+                1024, 256, 5000);
+        ITaskManagementMapper taskMapper = Mappers.getMapper(ITaskManagementMapper.class);
+        return new TaskManagementServiceImpl(taskRepository, taskMapper, new TaskDtoAssembler(taskMapper, activityRepository),
+                workQueues, activityPipeline, textIndex, throughputStore, 500, 500);
+    }
+}
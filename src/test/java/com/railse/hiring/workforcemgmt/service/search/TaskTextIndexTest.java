@@ -0,0 +1,129 @@
+package com.railse.hiring.workforcemgmt.service.search;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskTextIndexTest {
+
+    private final TaskRepository taskRepository = new InMemoryTaskRepository();
+    private final TaskTextIndex index;
+
+    TaskTextIndexTest() {
+        taskRepository.bulkLoad(List.of(
+                task(1001L, "Collect payment for INV-2024-001", "customer prefers cash"),
+                task(1002L, "Collect documents from warehouse"),
+                task(1003L, "Arrange pickup at warehouse gate", "gate code 4471")));
+        index = new TaskTextIndex(taskRepository);
+    }
+
+    @Test
+    void everyQueryTermMustMatchAndNewestTasksComeFirst() {
+        assertEquals(List.of(1002L, 1001L), search("collect", false));
+        assertEquals(List.of(1002L), search("collect warehouse", false));
+        assertEquals(List.of(), search("collect gate", false));
+        assertEquals(List.of(1003L, 1002L), search("WAREHOUSE", false));
+    }
+
+    @Test
+    void compoundIdsMatchWholeOrByPart() {
+        assertEquals(List.of(1001L), search("inv-2024-001", false));
+        assertEquals(List.of(1001L), search("2024", false));
+        assertEquals(List.of(), search("inv-2024-002", false));
+    }
+
+    @Test
+    void prefixAppliesToTheLastTermOnceItIsLongEnough() {
+        assertEquals(List.of(1003L, 1002L), search("wareh", true));
+        assertEquals(List.of(1002L), search("collect wareh", true));
+        assertEquals(List.of(), search("wareh collect", true));
+        assertEquals(List.of(), search("wareh", false));
+        // Below the minimum length the term must match whole
+        assertEquals(List.of(), search("wa", true));
+        assertEquals(List.of(1003L), search("at", true));
+    }
+
+    @Test
+    void commentsAreSearchable() {
+        assertEquals(List.of(1001L), search("cash", false));
+        assertEquals(List.of(1003L), search("4471", false));
+
+        index.indexComment(1002L, "Signed by the receiver");
+        assertEquals(List.of(1002L), search("receiver", false));
+        assertEquals(List.of(1002L), search("documents signed", false));
+    }
+
+    @Test
+    void descriptionUpdateReplacesTheOldTerms() {
+        index.indexDescription(1002L, describe(1002L, "Deliver documents to branch"), "Deliver documents to branch");
+
+        assertEquals(List.of(1001L), search("collect", false));
+        assertEquals(List.of(1003L), search("warehouse", false));
+        assertEquals(List.of(1002L), search("deliver branch", false));
+        assertEquals(List.of(1002L), search("documents", false));
+        // Terms only the old description had are gone from the dictionary, not just from the task
+        assertEquals(List.of(), search("fro", true));
+    }
+
+    @Test
+    void aDescriptionOlderThanTheIndexedOneIsSkipped() {
+        long older = describe(1002L, "Deliver documents to branch");
+        long newer = describe(1002L, "Return documents to sender");
+
+        index.indexDescription(1002L, newer, "Return documents to sender");
+        index.indexDescription(1002L, older, "Deliver documents to branch");
+
+        assertEquals(List.of(1002L), search("return sender", false));
+        assertEquals(List.of(), search("deliver", false));
+        assertEquals(List.of(1003L), search("warehouse", false));
+    }
+
+    @Test
+    void limitCapsTheIdsButNotTheTotal() {
+        TaskTextIndex.SearchHits hits = index.search("warehouse", false, 1);
+
+        assertEquals(2, hits.totalHits());
+        assertEquals(List.of(1003L), hits.taskIds());
+    }
+
+    /**
+     * Commits a new description and returns the version that wrote it.
+     */
+    private long describe(Long taskId, String description) {
+        return taskRepository.update(taskId, task -> {
+            task.setDescription(description);
+            return task;
+        }).orElseThrow().after().getVersion();
+    }
+
+    private List<Long> search(String query, boolean prefix) {
+        return index.search(query, prefix, 10).taskIds();
+    }
+
+    private static TaskManagement task(Long id, String description, String... comments) {
+        TaskManagement task = new TaskManagement();
+        task.setId(id);
+        task.setReferenceId(id);
+        task.setReferenceType(ReferenceType.ORDER);
+        task.setTask(Task.CREATE_INVOICE);
+        task.setAssigneeId(1L);
+        task.setStatus(TaskStatus.ASSIGNED);
+        task.setPriority(Priority.MEDIUM);
+        task.setDescription(description);
+        task.setCreatedAt(System.currentTimeMillis());
+        for (String comment : comments) {
+            task.getComments().add(new TaskComment(id, comment, 1L, "User"));
+        }
+        return task;
+    }
+}
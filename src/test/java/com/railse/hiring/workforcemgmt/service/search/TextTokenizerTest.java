@@ -0,0 +1,46 @@
+package com.railse.hiring.workforcemgmt.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextTokenizerTest {
+
+    @Test
+    void lowercasesAndSplitsOnNonWordCharacters() {
+        assertEquals(List.of("call", "customer", "before", "5pm"),
+                TextTokenizer.queryTerms("Call CUSTOMER, before 5pm!"));
+        assertEquals(List.of("pickup", "at", "gate"), TextTokenizer.queryTerms("pickup at gate - pickup"));
+        assertTrue(TextTokenizer.queryTerms(null).isEmpty());
+        assertTrue(TextTokenizer.indexTerms("  -- ").isEmpty());
+    }
+
+    @Test
+    void compoundIdsAreIndexedWholeAndByPart() {
+        assertEquals(Set.of("invoice", "inv-2024-001", "inv", "2024", "001"),
+                TextTokenizer.indexTerms("Invoice INV-2024-001"));
+        assertEquals(Set.of("ref_a/7", "ref", "a", "7"), TextTokenizer.indexTerms("ref_A/7."));
+        // Queries keep the id whole, so it only matches that id
+        assertEquals(List.of("inv-2024-001"), TextTokenizer.queryTerms("inv-2024-001"));
+    }
+
+    @Test
+    void joinersOutsideAWordAreSeparators() {
+        assertEquals(List.of("end", "start"), TextTokenizer.queryTerms("end- -start"));
+        assertEquals(List.of("a", "b"), TextTokenizer.queryTerms("a--b"));
+    }
+
+    @Test
+    void longTermsAreTruncated() {
+        String word = "x".repeat(TextTokenizer.MAX_TERM_LENGTH + 10);
+
+        assertEquals(List.of("x".repeat(TextTokenizer.MAX_TERM_LENGTH)), TextTokenizer.queryTerms(word));
+        // The whole id is cut before it is split, so its parts come from the kept prefix
+        assertEquals(Set.of(("ab-" + word).substring(0, TextTokenizer.MAX_TERM_LENGTH), "ab", "x".repeat(61)),
+                TextTokenizer.indexTerms("ab-" + word + "-cd"));
+    }
+}